@@ -3,19 +3,30 @@ package com.example.demo.controllers;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import com.example.demo.dto.TaskPageDTO;
+import com.example.demo.dto.TaskPatchDTO;
+import com.example.demo.dto.TaskViewDTO;
 import com.example.demo.model.Task;
 import com.example.demo.services.ITaskService;
+import com.example.demo.services.TaskFilter;
 
 @Controller
 @RequestMapping("TaskService")
@@ -24,43 +35,111 @@ public class TasksController {
 	@Autowired
 	private ITaskService service;
 	
+	// El mismo máximo que aplica Spring a ?size= en los Pageable
+	@Value("${spring.data.web.pageable.max-page-size:100}")
+	private int maxPageSize;
+	
+	// Página de tareas: ?page=0&size=20&sort=duration,desc, con los filtros
+	// finished, minDuration y maxDuration
 	@GetMapping("tasks")
-	public ResponseEntity<List<Task>> getBooks(){
+	public ResponseEntity<Page<TaskViewDTO>> getBooks(
+			@RequestParam(required = false) Boolean finished,
+			@RequestParam(required = false) Integer minDuration,
+			@RequestParam(required = false) Integer maxDuration,
+			Pageable pageable){
+		
+		TaskFilter filter = new TaskFilter(finished, minDuration, maxDuration);
+		Page<TaskViewDTO> tasks = service.getTasks(filter, pageable);
+		return new ResponseEntity<Page<TaskViewDTO>>(tasks, HttpStatus.OK);
 		
-		List<Task> tasks = service.getTasks();
-		return new ResponseEntity<List<Task>>(tasks, HttpStatus.OK);
+	}
+	
+	// Listado por cursor (en orden de id): la respuesta trae nextCursor, que se
+	// pasa como ?after= para pedir la página siguiente. A diferencia de
+	// ?page=N no hace OFFSET ni count, así que cada página cuesta lo mismo.
+	@GetMapping("tasks/keyset")
+	public ResponseEntity<TaskPageDTO> getBooksAfter(
+			@RequestParam(required = false) Integer after,
+			@RequestParam(defaultValue = "20") int size,
+			@RequestParam(required = false) Boolean finished,
+			@RequestParam(required = false) Integer minDuration,
+			@RequestParam(required = false) Integer maxDuration){
 		
+		if (size < 1 || size > maxPageSize) {
+			throw new IllegalArgumentException("size debe estar entre 1 y " + maxPageSize);
+		}
+		TaskFilter filter = new TaskFilter(finished, minDuration, maxDuration);
+		TaskPageDTO page = service.getTasksAfter(filter, after, size);
+		return new ResponseEntity<TaskPageDTO>(page, HttpStatus.OK);
 	}
 	
 	@GetMapping("tasks/{id}")
-	public ResponseEntity<Book> getBook(@PathVariable("id") Integer id){
-		Book book = service.getBook(id);
-		return new ResponseEntity<Book>(book, HttpStatus.OK);
+	public ResponseEntity<TaskViewDTO> getBook(@PathVariable("id") Integer id){
+		TaskViewDTO task = service.getTask(id);
+		return new ResponseEntity<TaskViewDTO>(task, HttpStatus.OK);
 	}
 	
-	@PostMapping("books")
-	public ResponseEntity<Book> createBook(@RequestBody Book book){
-		Book b = service.createBook(book);
-		return new ResponseEntity<Book>(b, HttpStatus.OK);
+	// Devuelve la tarea guardada con el id que se le ha asignado
+	@PostMapping("tasks")
+	public ResponseEntity<Task> createBook(@RequestBody Task task){
+		Task t = service.createTask(task);
+		return new ResponseEntity<Task>(t, HttpStatus.OK);
 		
 	}
 	
-	@PutMapping("books/{id}")
-	public ResponseEntity<Book> updateBook(@PathVariable("id") int id, @RequestBody Book book){
+	// Alta o modificación de muchas tareas en una sola petición (y transacción)
+	@PostMapping("tasks/batch")
+	public ResponseEntity<List<Task>> saveBooks(@RequestBody List<Task> tasks){
+		List<Task> saved = service.saveTasks(tasks);
+		return new ResponseEntity<List<Task>>(saved, HttpStatus.OK);
+	}
+	
+	@PutMapping("tasks/{id}")
+	public ResponseEntity<Task> updateBook(@PathVariable("id") int id, @RequestBody Task task){
 		
-		Book b = service.updateBook(id, book);
-		return new ResponseEntity<Book>(b, HttpStatus.OK);
+		Task t = service.updateTask(id, task);
+		if (t == null) {
+			return new ResponseEntity<Task>(HttpStatus.NOT_FOUND);
+		}
+		return new ResponseEntity<Task>(t, HttpStatus.OK);
 	}
 	
-	@DeleteMapping("books/{id}")
+	// Cambia solo los campos que trae el cuerpo; con "version", solo si la
+	// tarea sigue en esa versión (si no, 409)
+	@PatchMapping("tasks/{id}")
+	public ResponseEntity<Void> patchBook(@PathVariable("id") int id, @RequestBody TaskPatchDTO patch){
+		boolean patched = service.patchTask(id, patch);
+		return new ResponseEntity<Void>(patched ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND);
+	}
+	
+	// Marca como terminadas las tareas de la lista de ids; devuelve cuántas no lo estaban
+	@PostMapping("tasks/finished")
+	public ResponseEntity<Integer> finishBooks(@RequestBody List<Integer> ids){
+		int updated = service.markFinished(ids);
+		return new ResponseEntity<Integer>(updated, HttpStatus.OK);
+	}
+	
+	@DeleteMapping("tasks/{id}")
 	public ResponseEntity<String> deleteBook(@PathVariable("id") int id){
-		boolean isDeleted = service.deleteBook(id);
+		boolean isDeleted = service.deleteTask(id);
 		if(isDeleted){
-			String responseContent = "Book has been deleted successfully";
+			String responseContent = "Task has been deleted successfully";
 			return new ResponseEntity<String>(responseContent,HttpStatus.OK);
 		}
-		String error = "Error while deleting book from database";
+		String error = "Error while deleting task from database";
 		return new ResponseEntity<String>(error,HttpStatus.INTERNAL_SERVER_ERROR);
 	}
+	
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ResponseEntity<String> conflict(OptimisticLockingFailureException e){
+		return new ResponseEntity<String>(e.getMessage(), HttpStatus.CONFLICT);
+	}
+	
+	// Parámetros no válidos (orden por una propiedad desconocida, size fuera de rango, patch vacío,
+	// lote con ids que no existen)
+	@ExceptionHandler(IllegalArgumentException.class)
+	public ResponseEntity<String> badRequest(IllegalArgumentException e){
+		return new ResponseEntity<String>(e.getMessage(), HttpStatus.BAD_REQUEST);
+	}
 
 }
\ No newline at end of file
@@ -1,17 +1,30 @@
 package com.example.demo.dto;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.stereotype.Repository;
 import com.example.demo.model.Task;
+import com.example.demo.services.TaskFilter;
+import java.util.Collection;
 import java.util.List;
 
+// La implementa a mano TasksDTO: Spring Data no debe generar otra
+@NoRepositoryBean
 @Repository
 public interface ITaskRepository<Task, Integer> extends JpaRepository {
 
     List<Task> selectAll();
+    List<TaskViewDTO> selectAllViews();
+    Page<TaskViewDTO> selectPage(TaskFilter filter, Pageable pageable);
+    List<TaskViewDTO> selectAfter(TaskFilter filter, Integer afterId, int limit); // por id, después de afterId
     Task getTask(int bookId);
+    TaskViewDTO getTaskView(int taskId);
     Task insertTask(Task newTask);
-    Object updateTask(int taskId, Object task);
+    int updateTask(int taskId, Object task); // filas modificadas
+    int patchTask(int taskId, TaskPatchDTO patch);
+    int markFinished(Collection<Integer> taskIds);
     Task deleteTask(int taskId);
         
 }
@@ -0,0 +1,8 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+// Página del listado por cursor: nextCursor es el id de la última tarea, que
+// se pasa como "after" para pedir la siguiente (null si no hay más)
+public record TaskPageDTO(List<TaskViewDTO> content, Integer nextCursor) {
+}
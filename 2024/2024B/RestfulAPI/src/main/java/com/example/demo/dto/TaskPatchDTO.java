@@ -0,0 +1,10 @@
+package com.example.demo.dto;
+
+// Modificación parcial de una tarea: solo se cambian los campos no null. Si
+// trae version, solo se aplica si la tarea sigue en esa versión.
+public record TaskPatchDTO(String descr, Integer duration, Boolean finished, Long version) {
+
+    public boolean isEmpty() {
+        return descr == null && duration == null && finished == null;
+    }
+}
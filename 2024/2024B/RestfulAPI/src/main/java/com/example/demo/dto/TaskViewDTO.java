@@ -0,0 +1,6 @@
+package com.example.demo.dto;
+
+// Tarea de solo lectura para las respuestas: la consulta la construye
+// directamente (select new ...), sin entidad gestionada por Hibernate
+public record TaskViewDTO(Integer id, String descr, int duration, boolean finished, long version) {
+}
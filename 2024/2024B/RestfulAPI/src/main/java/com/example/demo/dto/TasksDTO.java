@@ -1,11 +1,19 @@
 package com.example.demo.dto;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
@@ -13,7 +21,8 @@ import org.springframework.stereotype.Repository;
 import jakarta.persistence.*;
 
 
-import com.example.demo.model.*;;
+import com.example.demo.model.*;
+import com.example.demo.services.TaskFilter;
 
 @Repository
 public class TasksDTO implements ITaskRepository {
@@ -21,51 +30,221 @@ public class TasksDTO implements ITaskRepository {
     @PersistenceContext
     EntityManager entityManager;
 
-    //RETORNAR TODOS LOS REGISTROS DE LA TABLA:
+    // Filas por lote JDBC (hibernate.jdbc.batch_size): saveAll vacía el
+    // contexto de persistencia cada tantas tareas
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    int batchSize;
+
+    // Filas que el driver trae por viaje en las lecturas grandes (en MySQL
+    // necesita useCursorFetch=true en la URL; si no, lee el resultado entero)
+    @Value("${tasks.read.fetch-size:1000}")
+    int fetchSize;
+
+    // Lecturas para responder: construyen TaskViewDTO sin pasar por entidades,
+    // así que Hibernate no guarda copias para comprobar cambios ni las
+    // acumula en el contexto de persistencia
+    private static final String VIEW =
+            "select new com.example.demo.dto.TaskViewDTO(t.id, t.description, t.duration, t.finished, t.version) from Task t";
+    private static final String ENTITY = "select t from Task t";
+
+    // Ids por UPDATE en markFinished, para no pasar del máximo de parámetros
+    // de una sentencia
+    private static final int MARK_FINISHED_CHUNK = 1000;
+
+    // Propiedades por las que se puede ordenar el listado (nombre en el JSON
+    // -> atributo de la entidad)
+    private static final Map<String, String> SORTABLE = Map.of(
+            "id", "id",
+            "descr", "description",
+            "duration", "duration",
+            "finished", "finished");
+
+    //RETORNAR TODOS LOS REGISTROS DE LA TABLA (sin límite: para listar, selectPage o selectAfter).
+    //Las entidades se cargan de solo lectura: sin copia para comprobar cambios.
     @Override
     public List<Task> selectAll() {
-        String sql = "From tasks";
-        return (List<Task>)  entityManager.createQuery(sql).getResultList();
-    }
-
-    //RETORNAR UN REGISTRO DE LA TABLA:
+        String sql = ENTITY + " order by t.id";
+        return entityManager.createQuery(sql, Task.class)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultList();
+    }
+
+    //RETORNAR TODOS LOS REGISTROS COMO TaskViewDTO:
+    @Override
+    public List<TaskViewDTO> selectAllViews() {
+        String sql = VIEW + " order by t.id";
+        return entityManager.createQuery(sql, TaskViewDTO.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultList();
+    }
+
+    //RETORNAR UNA PÁGINA (número de página, tamaño y orden de pageable). El
+    //total sale de un count con el mismo filtro; el id se añade al final del
+    //orden para que las páginas no se solapen con valores repetidos.
+    @Override
+    public Page<TaskViewDTO> selectPage(TaskFilter filter, Pageable pageable) {
+        return page(VIEW, TaskViewDTO.class, filter, pageable);
+    }
+
+    private <T> Page<T> page(String select, Class<T> type, TaskFilter filter, Pageable pageable) {
+        Map<String, Object> params = new HashMap<>();
+        String where = where(filter, params);
+        StringBuilder orderBy = new StringBuilder();
+        for (Sort.Order order : pageable.getSort()) {
+            String attribute = SORTABLE.get(order.getProperty());
+            if (attribute == null) {
+                throw new IllegalArgumentException("No se puede ordenar por '" + order.getProperty() + "'");
+            }
+            orderBy.append("t.").append(attribute).append(order.isAscending() ? " asc, " : " desc, ");
+        }
+        orderBy.append("t.id");
+
+        TypedQuery<T> query = entityManager.createQuery(select + where + " order by " + orderBy, type);
+        TypedQuery<Long> count = entityManager.createQuery(
+                "select count(t) from Task t" + where, Long.class);
+        params.forEach((name, value) -> {
+            query.setParameter(name, value);
+            count.setParameter(name, value);
+        });
+        List<T> content = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return new PageImpl<>(content, pageable, count.getSingleResult());
+    }
+
+    //RETORNAR LAS limit SIGUIENTES A afterId, por id: sin OFFSET ni count, el
+    //coste de cada página no depende de lo avanzada que esté
+    @Override
+    public List<TaskViewDTO> selectAfter(TaskFilter filter, Object afterId, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder where = new StringBuilder(where(filter, params));
+        if (afterId != null) {
+            where.append(where.length() == 0 ? " where " : " and ").append("t.id > :afterId");
+            params.put("afterId", afterId);
+        }
+        TypedQuery<TaskViewDTO> query = entityManager.createQuery(
+                VIEW + where + " order by t.id", TaskViewDTO.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private static String where(TaskFilter filter, Map<String, Object> params) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.finished() != null) {
+            conditions.add("t.finished = :finished");
+            params.put("finished", filter.finished());
+        }
+        if (filter.minDuration() != null) {
+            conditions.add("t.duration >= :minDuration");
+            params.put("minDuration", filter.minDuration());
+        }
+        if (filter.maxDuration() != null) {
+            conditions.add("t.duration <= :maxDuration");
+            params.put("maxDuration", filter.maxDuration());
+        }
+        return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+    }
+
+    //RETORNAR UN REGISTRO DE LA TABLA (la entidad, para modificarla):
     @Override
     public Object getTask(int bookId) {
         return  entityManager.find(Task.class, bookId);
     }
 
+    //RETORNAR UN REGISTRO COMO TaskViewDTO, o null si no existe:
     @Override
-    public Object insertTask(Object newTask) {
-        entityManager.persist(newTask);
-        Task t = getLastInsertedTask();
-        return t;
+    public TaskViewDTO getTaskView(int taskId) {
+        return entityManager.createQuery(VIEW + " where t.id = :id", TaskViewDTO.class)
+                .setParameter("id", taskId)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
     }
 
-    Task getLastInsertedTask()
-    {
-        String sql = "FROM tasks order by id DESC";
-        Query myQuery = entityManager.createQuery(sql);
-        myQuery.setMaxResults(1);
-        Task t = (Task) myQuery.getSingleResult();
-        return t;
+    //INSERTAR UN REGISTRO: persist() le asigna el id de la secuencia sin ir a
+    //la base de datos, así que se devuelve la misma entidad, ya con su id, en
+    //lugar de volver a leer "la última" (que con inserciones concurrentes
+    //podía ser la de otro). El INSERT se envía al hacer flush o commit.
+    @Override
+    public Task insertTask(Object newTask) {
+        Task task = (Task) newTask;
+        entityManager.persist(task);
+        return task;
     }
 
+    //MODIFICAR UN REGISTRO: un solo UPDATE, sin leer antes la tarea. Devuelve
+    //las filas modificadas (0 si no existe).
     @Override
-    public Object updateTask(int taskId, Object task) {
-       Task taskToUpdate = (Task) getTask(taskId);
+    public int updateTask(int taskId, Object task) {
        Task newTask = (Task) task;
-       taskToUpdate.setDescr(newTask.getDescr());
-       taskToUpdate.setDuration(newTask.getDuration());
-       //taskId.setFinished(task.isFinished());
-       //actualizar todos lo
-       entityManager.flush();
-       return newTask;
-
-    }
-
+       return entityManager.createQuery("update Task t set t.description = :descr, t.duration = :duration,"
+                       + " t.finished = :finished, t.version = t.version + 1 where t.id = :id")
+               .setParameter("descr", newTask.getDescr())
+               .setParameter("duration", newTask.getDuration())
+               .setParameter("finished", newTask.isFinished())
+               .setParameter("id", taskId)
+               .executeUpdate();
+    }
+
+    //MODIFICAR ALGUNOS CAMPOS: un UPDATE solo de los campos del patch y, si
+    //trae version, solo si la tarea sigue en esa versión. Devuelve las filas
+    //modificadas: 0 si no existe o si ya cambió.
+    @Override
+    public int patchTask(int taskId, TaskPatchDTO patch) {
+        if (patch.isEmpty()) {
+            throw new IllegalArgumentException("No hay campos que modificar");
+        }
+        Map<String, Object> params = new HashMap<>();
+        List<String> set = new ArrayList<>();
+        if (patch.descr() != null) {
+            set.add("t.description = :descr");
+            params.put("descr", patch.descr());
+        }
+        if (patch.duration() != null) {
+            set.add("t.duration = :duration");
+            params.put("duration", patch.duration());
+        }
+        if (patch.finished() != null) {
+            set.add("t.finished = :finished");
+            params.put("finished", patch.finished());
+        }
+        set.add("t.version = t.version + 1");
+        String where = " where t.id = :id";
+        params.put("id", taskId);
+        if (patch.version() != null) {
+            where += " and t.version = :version";
+            params.put("version", patch.version());
+        }
+        Query query = entityManager.createQuery("update Task t set " + String.join(", ", set) + where);
+        params.forEach(query::setParameter);
+        return query.executeUpdate();
+    }
+
+    //MARCAR COMO TERMINADAS: un UPDATE por cada MARK_FINISHED_CHUNK ids (uno
+    //solo en el caso normal). Devuelve cuántas había sin terminar.
+    @Override
+    public int markFinished(Collection taskIds) {
+        List<Object> ids = new ArrayList<>(taskIds);
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += MARK_FINISHED_CHUNK) {
+            updated += entityManager.createQuery("update Task t set t.finished = true, t.version = t.version + 1"
+                            + " where t.id in :ids and t.finished = false")
+                    .setParameter("ids", ids.subList(from, Math.min(ids.size(), from + MARK_FINISHED_CHUNK)))
+                    .executeUpdate();
+        }
+        return updated;
+    }
+
+    //BORRAR UN REGISTRO: devuelve el borrado, o null si no existía
     @Override
     public Object deleteTask(int taskId) {
-       return null;
+       Task task = entityManager.find(Task.class, taskId);
+       if (task != null) {
+           entityManager.remove(task);
+       }
+       return task;
     }
 
 
@@ -73,8 +252,7 @@ public class TasksDTO implements ITaskRepository {
 
     @Override
     public void flush() {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'flush'");
+        entityManager.flush();
     }
 
     @Override
@@ -85,8 +263,8 @@ public class TasksDTO implements ITaskRepository {
 
     @Override
     public List saveAllAndFlush(Iterable entities) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'saveAllAndFlush'");
+        // saveAll ya termina con un flush
+        return saveAll(entities);
     }
 
     @Override
@@ -139,8 +317,7 @@ public class TasksDTO implements ITaskRepository {
 
     @Override
     public List findAll() {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'findAll'");
+        return selectAll();
     }
 
     @Override
@@ -149,16 +326,68 @@ public class TasksDTO implements ITaskRepository {
         throw new UnsupportedOperationException("Unimplemented method 'findAllById'");
     }
 
+    //GUARDAR MUCHOS REGISTROS: las tareas sin id se insertan y las que traen
+    //id actualizan la existente. Se trabaja por lotes de batchSize: las
+    //existentes del lote se leen con una sola consulta y, tras cada lote,
+    //flush() envía sus INSERT/UPDATE como lotes JDBC y clear() suelta las
+    //entidades para que el contexto de persistencia no crezca con miles de
+    //tareas. Devuelve las guardadas, ya con su id. Si algún id no existe lanza
+    //IllegalArgumentException con todos ellos, y la transacción del llamador
+    //deshace lo ya enviado.
     @Override
     public List saveAll(Iterable entities) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'saveAll'");
+        List<Task> saved = new ArrayList<>();
+        List<Integer> missing = new ArrayList<>();
+        List<Task> chunk = new ArrayList<>(batchSize);
+        for (Object entity : entities) {
+            chunk.add((Task) entity);
+            if (chunk.size() == batchSize) {
+                saveChunk(chunk, saved, missing);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk, saved, missing);
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("No existen las tareas con id " + missing);
+        }
+        return saved;
+    }
+
+    private void saveChunk(List<Task> chunk, List<Task> saved, List<Integer> missing) {
+        List<Integer> ids = chunk.stream()
+                .map(Task::getId)
+                .filter(id -> id != null)
+                .collect(Collectors.toList());
+        Map<Integer, Task> existing = ids.isEmpty() ? Map.of()
+                : entityManager.createQuery("select t from Task t where t.id in :ids", Task.class)
+                        .setParameter("ids", ids)
+                        .getResultStream()
+                        .collect(Collectors.toMap(Task::getId, Function.identity()));
+        for (Task task : chunk) {
+            if (task.getId() == null) {
+                entityManager.persist(task);
+                saved.add(task);
+                continue;
+            }
+            Task taskToUpdate = existing.get(task.getId());
+            if (taskToUpdate == null) {
+                missing.add(task.getId());
+                continue;
+            }
+            taskToUpdate.setDescr(task.getDescr());
+            taskToUpdate.setDuration(task.getDuration());
+            taskToUpdate.setFinished(task.isFinished());
+            saved.add(taskToUpdate);
+        }
+        entityManager.flush();
+        entityManager.clear();
     }
 
     @Override
     public long count() {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'count'");
+        return entityManager.createQuery("select count(t) from Task t", Long.class).getSingleResult();
     }
 
     @Override
@@ -193,8 +422,11 @@ public class TasksDTO implements ITaskRepository {
 
     @Override
     public boolean existsById(Object id) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'existsById'");
+        return !entityManager.createQuery("select t.id from Task t where t.id = :id")
+                .setParameter("id", id)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
     }
 
     @Override
@@ -217,8 +449,7 @@ public class TasksDTO implements ITaskRepository {
 
     @Override
     public Page findAll(Pageable pageable) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'findAll'");
+        return page(ENTITY, Task.class, TaskFilter.NONE, pageable);
     }
 
     @Override
@@ -2,6 +2,7 @@ package com.example.demo.model;
 
 import jakarta.persistence.*;
 import java.io.Serializable;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,8 +20,12 @@ public class Task implements Serializable {
         finished boolean not null,
      */
 
+    // Ids de una secuencia (en MySQL, la tabla tasks_seq) reservados de 50 en
+    // 50 con el optimizador pooled-lo: persist() asigna el id en memoria y solo
+    // se consulta la secuencia una vez cada 50 inserciones.
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     @Column(name="id")
     private Integer id;
 
@@ -35,12 +40,28 @@ public class Task implements Serializable {
     @Column(name="finished")
     private boolean finished;
 
-    public int getId()
+    // La incrementa cada UPDATE (también los de TasksDTO.updateTask/patchTask,
+    // que la suben a mano). No se lee del JSON: se consulta con TaskViewDTO.
+    @Version
+    @JsonIgnore
+    @Column(name="version")
+    private long version;
+
+    public Task(Integer id, String description, int duration, boolean finished)
+    {
+        this.id = id;
+        this.description = description;
+        this.duration = duration;
+        this.finished = finished;
+    }
+
+    // null mientras la tarea no se ha guardado
+    public Integer getId()
     {
         return this.id;
     }
 
-    public void setId(int pId)
+    public void setId(Integer pId)
 
     {
         this.id = pId;
@@ -54,7 +75,7 @@ public class Task implements Serializable {
     public void setDuration(int duration)
 
     {
-        this.id = duration;
+        this.duration = duration;
     }
 
     public String getDescr()
@@ -1,5 +1,43 @@
 package com.example.demo.services;
 
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.example.demo.dto.TaskPageDTO;
+import com.example.demo.dto.TaskPatchDTO;
+import com.example.demo.dto.TaskViewDTO;
+import com.example.demo.model.Task;
+
 public interface ITaskService {
-    
+
+    // Las lecturas devuelven TaskViewDTO, no entidades
+    Page<TaskViewDTO> getTasks(TaskFilter filter, Pageable pageable);
+
+    // Por cursor: las size tareas siguientes a la del id after (null: desde el principio)
+    TaskPageDTO getTasksAfter(TaskFilter filter, Integer after, int size);
+
+    TaskViewDTO getTask(int taskId); // null si no existe
+
+    // La tarea guardada, con su id
+    Task createTask(Task task);
+
+    // Inserta las tareas sin id y actualiza las que traen id, en lotes JDBC;
+    // devuelve las guardadas. Si algún id no existe no guarda ninguna y lanza
+    // IllegalArgumentException con esos ids
+    List<Task> saveTasks(List<Task> tasks);
+
+    // Un solo UPDATE; null si no existe
+    Task updateTask(int taskId, Task task);
+
+    // false si no existe; OptimisticLockingFailureException si el patch trae
+    // una versión y la tarea ya cambió
+    boolean patchTask(int taskId, TaskPatchDTO patch);
+
+    // Marca como terminadas las tareas de la lista en un solo UPDATE;
+    // devuelve cuántas no lo estaban
+    int markFinished(List<Integer> taskIds);
+
+    boolean deleteTask(int taskId); // false si no existía
 }
@@ -0,0 +1,7 @@
+package com.example.demo.services;
+
+// Filtros del listado de tareas; los null no filtran
+public record TaskFilter(Boolean finished, Integer minDuration, Integer maxDuration) {
+
+    public static final TaskFilter NONE = new TaskFilter(null, null, null);
+}
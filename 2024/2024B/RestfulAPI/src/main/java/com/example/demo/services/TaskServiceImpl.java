@@ -0,0 +1,100 @@
+package com.example.demo.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.dto.ITaskRepository;
+import com.example.demo.dto.TaskPageDTO;
+import com.example.demo.dto.TaskPatchDTO;
+import com.example.demo.dto.TaskViewDTO;
+import com.example.demo.model.Task;
+
+// Cada método es una transacción: TasksDTO usa el EntityManager directamente.
+// Las de lectura son readOnly: Spring pone la sesión de Hibernate en solo
+// lectura y sin flush al terminar.
+@Service
+public class TaskServiceImpl implements ITaskService {
+
+    @Autowired
+    private ITaskRepository<Task, Integer> repository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TaskViewDTO> getTasks(TaskFilter filter, Pageable pageable) {
+        return repository.selectPage(filter, pageable);
+    }
+
+    // Se pide una más de las que caben en la página para saber si hay siguiente
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPageDTO getTasksAfter(TaskFilter filter, Integer after, int size) {
+        List<TaskViewDTO> tasks = repository.selectAfter(filter, after, size + 1);
+        if (tasks.size() <= size) {
+            return new TaskPageDTO(tasks, null);
+        }
+        List<TaskViewDTO> content = tasks.subList(0, size);
+        return new TaskPageDTO(content, content.get(size - 1).id());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskViewDTO getTask(int taskId) {
+        return repository.getTaskView(taskId);
+    }
+
+    @Override
+    @Transactional
+    public Task createTask(Task task) {
+        return repository.insertTask(task);
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<Task> saveTasks(List<Task> tasks) {
+        return repository.saveAll(tasks);
+    }
+
+    @Override
+    @Transactional
+    public Task updateTask(int taskId, Task task) {
+        if (repository.updateTask(taskId, task) == 0) {
+            return null;
+        }
+        task.setId(taskId);
+        return task;
+    }
+
+    // Si el UPDATE no modifica nada, una segunda consulta distingue entre
+    // tarea inexistente y versión distinta
+    @Override
+    @Transactional
+    public boolean patchTask(int taskId, TaskPatchDTO patch) {
+        if (repository.patchTask(taskId, patch) == 1) {
+            return true;
+        }
+        if (patch.version() != null && repository.existsById(taskId)) {
+            throw new OptimisticLockingFailureException(
+                    "La tarea " + taskId + " ya no está en la versión " + patch.version());
+        }
+        return false;
+    }
+
+    @Override
+    @Transactional
+    public int markFinished(List<Integer> taskIds) {
+        return repository.markFinished(taskIds);
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteTask(int taskId) {
+        return repository.deleteTask(taskId) != null;
+    }
+}
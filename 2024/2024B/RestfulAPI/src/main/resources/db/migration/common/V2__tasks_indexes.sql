@@ -0,0 +1,6 @@
+-- Índices del listado paginado (TasksDTO.selectPage/selectAfter), que ordena
+-- por id. Con finished=? el índice ya está en orden de id y una página lee
+-- solo "size" entradas a partir del cursor; con un rango de duration el índice
+-- limita las filas candidatas y cada una lleva su id para el cursor.
+CREATE INDEX idx_tasks_finished_id ON Tasks (finished, id);
+CREATE INDEX idx_tasks_duration_id ON Tasks (duration, id);
@@ -0,0 +1,3 @@
+-- Versión de cada tarea para las modificaciones condicionales (PATCH con
+-- version): cada UPDATE la incrementa
+ALTER TABLE Tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- Esquema de los tests (H2 en memoria): la secuencia es una secuencia real
+CREATE TABLE Tasks (
+    id INT NOT NULL,
+    duration INT NOT NULL,
+    descr VARCHAR(250) NOT NULL,
+    finished BOOLEAN NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,18 @@
+-- Tabla de tareas y tabla de la secuencia de ids (MySQL no tiene secuencias).
+-- En una base de datos que ya tenía Tasks solo se crea tasks_seq, empezando
+-- por encima del mayor id existente.
+CREATE TABLE IF NOT EXISTS Tasks (
+    id INT NOT NULL,
+    duration INT NOT NULL,
+    descr VARCHAR(250) NOT NULL,
+    finished BOOLEAN NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS tasks_seq (
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO tasks_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM Tasks
+WHERE NOT EXISTS (SELECT * FROM tasks_seq);
@@ -0,0 +1,173 @@
+package com.example.demo.controllers;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.demo.model.Task;
+import com.example.demo.services.ITaskService;
+import com.jayway.jsonpath.JsonPath;
+
+// Cada test inserta 30 tareas con duraciones [base, base + 30), que no usa
+// ningún otro test, y filtra por ese rango o usa sus ids
+@SpringBootTest
+@AutoConfigureMockMvc
+class TasksControllerTests {
+
+	private static final int TASKS = 30;
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private ITaskService service;
+
+	@Test
+	void keysetPagesCoverEveryTaskOnce() throws Exception {
+		insert(1000);
+		List<Integer> ids = new ArrayList<>();
+		Integer after = null;
+		do {
+			String json = mvc.perform(get("/TaskService/tasks/keyset")
+							.param("minDuration", "1000").param("maxDuration", "1029")
+							.param("size", "7")
+							.param("after", after == null ? "" : after.toString()))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString();
+			ids.addAll(JsonPath.read(json, "$.content[*].id"));
+			after = JsonPath.read(json, "$.nextCursor");
+		} while (after != null);
+
+		assertEquals(TASKS, ids.size());
+		for (int i = 1; i < ids.size(); i++) {
+			assertTrue(ids.get(i - 1) < ids.get(i));
+		}
+
+		mvc.perform(get("/TaskService/tasks/keyset")
+						.param("minDuration", "1000").param("maxDuration", "1029")
+						.param("finished", "true").param("size", "100"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content", hasSize(TASKS / 2)))
+				.andExpect(jsonPath("$.nextCursor").doesNotExist());
+	}
+
+	@Test
+	void pageIsFilteredAndSorted() throws Exception {
+		insert(2000);
+		mvc.perform(get("/TaskService/tasks")
+						.param("minDuration", "2000").param("maxDuration", "2029")
+						.param("finished", "false")
+						.param("size", "10").param("sort", "duration,desc"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content", hasSize(10)))
+				.andExpect(jsonPath("$.content[0].duration").value(2029))
+				.andExpect(jsonPath("$.content[9].duration").value(2011))
+				.andExpect(jsonPath("$.page.totalElements").value(TASKS / 2))
+				.andExpect(jsonPath("$.page.totalPages").value(2));
+	}
+
+	@Test
+	void invalidListingParametersAreRejected() throws Exception {
+		mvc.perform(get("/TaskService/tasks").param("sort", "password"))
+				.andExpect(status().isBadRequest());
+		mvc.perform(get("/TaskService/tasks/keyset").param("size", "0"))
+				.andExpect(status().isBadRequest());
+		mvc.perform(get("/TaskService/tasks/keyset").param("size", "101"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void patchUpdatesOnlyTheGivenFields() throws Exception {
+		int id = insert(3000).get(0).getId();
+
+		mvc.perform(patch("/TaskService/tasks/" + id)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"duration\": 3500}"))
+				.andExpect(status().isNoContent());
+		mvc.perform(get("/TaskService/tasks/" + id))
+				.andExpect(jsonPath("$.descr").value("tarea 3000"))
+				.andExpect(jsonPath("$.duration").value(3500))
+				.andExpect(jsonPath("$.finished").value(true))
+				.andExpect(jsonPath("$.version").value(1));
+
+		// Con la versión anterior ya no se aplica
+		mvc.perform(patch("/TaskService/tasks/" + id)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"finished\": false, \"version\": 0}"))
+				.andExpect(status().isConflict());
+		mvc.perform(patch("/TaskService/tasks/" + id)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"finished\": false, \"version\": 1}"))
+				.andExpect(status().isNoContent());
+		mvc.perform(get("/TaskService/tasks/" + id))
+				.andExpect(jsonPath("$.finished").value(false))
+				.andExpect(jsonPath("$.version").value(2));
+
+		mvc.perform(patch("/TaskService/tasks/" + id)
+						.contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isBadRequest());
+		mvc.perform(patch("/TaskService/tasks/-1")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"finished\": true, \"version\": 0}"))
+				.andExpect(status().isNotFound());
+		mvc.perform(put("/TaskService/tasks/-1")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"descr\": \"x\", \"duration\": 1}"))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void markFinishedUpdatesEveryListedTask() throws Exception {
+		List<Integer> ids = insert(4000).stream().map(Task::getId).toList();
+
+		mvc.perform(post("/TaskService/tasks/finished")
+						.contentType(MediaType.APPLICATION_JSON).content(ids.toString()))
+				.andExpect(status().isOk())
+				.andExpect(content().string(String.valueOf(TASKS / 2)));
+		mvc.perform(get("/TaskService/tasks/keyset")
+						.param("minDuration", "4000").param("maxDuration", "4029")
+						.param("finished", "false"))
+				.andExpect(jsonPath("$.content", hasSize(0)));
+	}
+
+	@Test
+	void batchWithUnknownIdsIsRejectedWithoutSavingAnything() throws Exception {
+		int id = insert(5000).get(0).getId();
+		String batch = "[{\"id\": " + id + ", \"descr\": \"cambiada\", \"duration\": 5000},"
+				+ " {\"descr\": \"nueva\", \"duration\": 5001},"
+				+ " {\"id\": -1, \"descr\": \"x\", \"duration\": 5002},"
+				+ " {\"id\": -2, \"descr\": \"y\", \"duration\": 5003}]";
+
+		mvc.perform(post("/TaskService/tasks/batch")
+						.contentType(MediaType.APPLICATION_JSON).content(batch))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().string(containsString("[-1, -2]")));
+		mvc.perform(get("/TaskService/tasks/" + id))
+				.andExpect(jsonPath("$.descr").value("tarea 5000"));
+		mvc.perform(get("/TaskService/tasks/keyset")
+						.param("minDuration", "5000").param("maxDuration", "5029").param("size", "100"))
+				.andExpect(jsonPath("$.content", hasSize(TASKS)));
+	}
+
+	// Las pares quedan terminadas
+	private List<Task> insert(int base) {
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < TASKS; i++) {
+			tasks.add(new Task(null, "tarea " + (base + i), base + i, i % 2 == 0));
+		}
+		return service.saveTasks(tasks);
+	}
+}
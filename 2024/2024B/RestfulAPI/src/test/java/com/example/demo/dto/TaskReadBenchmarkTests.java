@@ -0,0 +1,106 @@
+package com.example.demo.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.model.Task;
+import com.example.demo.services.ITaskService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// Lee la tabla entera (al menos ROWS tareas) de tres formas y compara tiempo
+// y memoria reservada por lectura: entidades gestionadas (con la copia de
+// cada una para comprobar cambios), entidades de solo lectura (selectAll) y
+// TaskViewDTO (selectAllViews). Todas en una transacción de lectura-escritura,
+// para que solo cambie la consulta. Solo se ejecuta con -Dbenchmark=true.
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskReadBenchmarkTests {
+
+	private static final Logger log = LoggerFactory.getLogger(TaskReadBenchmarkTests.class);
+
+	private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+	private static final int RUNS = 3;
+
+	@Autowired
+	private ITaskRepository<Task, Integer> repository;
+
+	@Autowired
+	private ITaskService service;
+
+	@Autowired
+	private TransactionTemplate transaction;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Test
+	void projectionsReadTheSameRowsWithLessWork() {
+		fill();
+
+		int managed = measure("entidades gestionadas", () -> {
+			List<Task> tasks = entityManager.createQuery("select t from Task t order by t.id", Task.class)
+					.getResultList();
+			assertFalse(entityManager.unwrap(Session.class).isReadOnly(tasks.get(0)));
+			return tasks.size();
+		});
+		int readOnly = measure("entidades de solo lectura", () -> {
+			List<Task> tasks = repository.selectAll();
+			assertTrue(entityManager.unwrap(Session.class).isReadOnly(tasks.get(0)));
+			return tasks.size();
+		});
+		int views = measure("TaskViewDTO", () -> repository.selectAllViews().size());
+
+		assertTrue(managed >= ROWS);
+		assertEquals(managed, readOnly);
+		assertEquals(managed, views);
+	}
+
+	// Completa la tabla hasta ROWS tareas, en transacciones de 10000
+	private void fill() {
+		long missing = ROWS - transaction.execute(status -> repository.count());
+		while (missing > 0) {
+			List<Task> tasks = new ArrayList<>();
+			for (int i = 0; i < Math.min(missing, 10_000); i++) {
+				tasks.add(new Task(null, "lectura " + i, i % 480, i % 3 == 0));
+			}
+			service.saveTasks(tasks);
+			missing -= tasks.size();
+		}
+	}
+
+	// Una lectura de calentamiento y RUNS medidas, cada una en su transacción
+	private int measure(String mode, Supplier<Integer> read) {
+		com.sun.management.ThreadMXBean threads =
+				(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		int rows = transaction.execute(status -> read.get());
+		long nanos = 0;
+		long bytes = 0;
+		for (int run = 0; run < RUNS; run++) {
+			long allocated = threads.getCurrentThreadAllocatedBytes();
+			long started = System.nanoTime();
+			transaction.execute(status -> read.get());
+			nanos += System.nanoTime() - started;
+			bytes += threads.getCurrentThreadAllocatedBytes() - allocated;
+		}
+		log.info(String.format("%-26s %d filas: %6.1f ms, %6.1f MB reservados por lectura",
+				mode, rows, nanos / 1e6 / RUNS, bytes / 1048576.0 / RUNS));
+		return rows;
+	}
+}
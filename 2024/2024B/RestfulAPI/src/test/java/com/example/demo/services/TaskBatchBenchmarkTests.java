@@ -0,0 +1,105 @@
+package com.example.demo.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.dto.ITaskRepository;
+import com.example.demo.model.Task;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// Filas por segundo al guardar ROWS tareas de tres formas: una petición
+// (transacción) por tarea, una transacción sin lotes JDBC y saveTasks con
+// lotes. Con H2 en memoria la diferencia es pequeña; contra MySQL (ver readme)
+// es donde se nota cada viaje de red que se ahorra. Solo se ejecuta con
+// -Dbenchmark=true.
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TaskBatchBenchmarkTests {
+
+	private static final Logger log = LoggerFactory.getLogger(TaskBatchBenchmarkTests.class);
+
+	private static final int ROWS = 5000;
+
+	@Autowired
+	private ITaskService service;
+
+	@Autowired
+	private ITaskRepository<Task, Integer> repository;
+
+	@Autowired
+	private TransactionTemplate transaction;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Test
+	void batchInsertsAndUpdates() {
+		long before = count();
+
+		long started = System.nanoTime();
+		for (Task task : tasks("individual")) {
+			service.createTask(task);
+		}
+		report("una transacción por tarea", started);
+
+		started = System.nanoTime();
+		transaction.executeWithoutResult(status -> {
+			// Misma transacción pero sin lotes: una sentencia por fila
+			entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+			for (Task task : tasks("sin lotes")) {
+				entityManager.persist(task);
+			}
+		});
+		report("una transacción sin lotes", started);
+
+		started = System.nanoTime();
+		List<Task> saved = service.saveTasks(tasks("lotes"));
+		report("saveTasks con lotes", started);
+
+		assertEquals(ROWS, saved.size());
+		saved.forEach(task -> assertNotNull(task.getId()));
+		assertEquals(before + 3 * ROWS, count());
+
+		// Las que traen id se actualizan, también por lotes
+		saved.forEach(task -> task.setFinished(true));
+		started = System.nanoTime();
+		List<Task> updated = service.saveTasks(saved);
+		report("saveTasks actualizando", started);
+
+		assertEquals(ROWS, updated.size());
+		assertEquals(before + 3 * ROWS, count());
+		assertTrue(service.getTask(saved.get(ROWS - 1).getId()).finished());
+	}
+
+	private static List<Task> tasks(String descr) {
+		List<Task> tasks = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			tasks.add(new Task(null, descr + " " + i, i % 120, false));
+		}
+		return tasks;
+	}
+
+	private long count() {
+		return transaction.execute(status -> repository.count());
+	}
+
+	private static void report(String mode, long started) {
+		double seconds = (System.nanoTime() - started) / 1e9;
+		log.info(String.format("%-28s %d filas en %.2f s: %.0f filas/s", mode, ROWS, seconds, ROWS / seconds));
+	}
+}
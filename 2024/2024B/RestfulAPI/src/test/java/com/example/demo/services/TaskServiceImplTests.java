@@ -0,0 +1,81 @@
+package com.example.demo.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.demo.dto.TaskViewDTO;
+import com.example.demo.model.Task;
+
+// Varios hilos insertan a la vez: cada uno recibe sus propias tareas con ids
+// distintos (antes podía recibir la última insertada por otro hilo)
+@SpringBootTest
+class TaskServiceImplTests {
+
+	private static final Logger log = LoggerFactory.getLogger(TaskServiceImplTests.class);
+	private static final int THREADS = 8;
+	private static final int TASKS_PER_THREAD = 250;
+
+	@Autowired
+	private ITaskService service;
+
+	@Test
+	void concurrentInsertsReturnTheirOwnTask() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<List<Task>>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			int thread = t;
+			futures.add(executor.submit(() -> {
+				start.await();
+				List<Task> created = new ArrayList<>();
+				for (int i = 0; i < TASKS_PER_THREAD; i++) {
+					String descr = "hilo " + thread + " tarea " + i;
+					Task task = service.createTask(new Task(null, descr, i, false));
+					assertNotNull(task.getId());
+					assertEquals(descr, task.getDescr());
+					created.add(task);
+				}
+				return created;
+			}));
+		}
+		long started = System.nanoTime();
+		start.countDown();
+		// id devuelto -> tarea que lo recibió; un id repetido sería de otro hilo
+		Map<Integer, Task> created = new HashMap<>();
+		for (Future<List<Task>> future : futures) {
+			for (Task task : future.get()) {
+				assertNull(created.put(task.getId(), task), "id repetido: " + task.getId());
+			}
+		}
+		double seconds = (System.nanoTime() - started) / 1e9;
+		executor.shutdown();
+
+		int total = THREADS * TASKS_PER_THREAD;
+		log.info(String.format("%d inserciones en %.2f s: %.0f inserciones/s", total, seconds, total / seconds));
+		assertEquals(total, created.size());
+		for (Task task : created.values()) {
+			TaskViewDTO saved = service.getTask(task.getId());
+			assertNotNull(saved);
+			assertEquals(task.getDescr(), saved.descr());
+			assertEquals(task.getDuration(), saved.duration());
+			assertFalse(saved.finished());
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.comics_api.benchmark;
+
+import com.example.comics_api.model.Autor;
+import com.example.comics_api.model.Comic;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Datos de prueba para los benchmarks: ComicsLibraryData.json replicado hasta
+// el número de cómics pedido. Cada réplica de la biblioteca tiene sus propios
+// autores, así que la proporción cómics/autor es la del fichero original.
+final class CatalogData {
+
+    final List<Autor> autores = new ArrayList<>();
+    final List<Comic> comics = new ArrayList<>();
+
+    private CatalogData() {
+    }
+
+    static CatalogData load(String path, int comicCount) throws IOException {
+        ObjectMapper mapper = new ObjectMapper()
+                .configure(JsonParser.Feature.ALLOW_COMMENTS, true)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        // El fichero contiene dos arrays seguidos: autores y cómics
+        List<JsonNode> sections = new ArrayList<>();
+        try (JsonParser parser = mapper.createParser(new File(path))) {
+            while (parser.nextToken() != null) {
+                sections.add(mapper.readTree(parser));
+            }
+        }
+        List<Autor> autorTemplates = new ArrayList<>();
+        sections.get(0).forEach(node -> autorTemplates.add(mapper.convertValue(node, Autor.class)));
+        List<Comic> comicTemplates = new ArrayList<>();
+        sections.get(1).forEach(node -> comicTemplates.add(mapper.convertValue(node, Comic.class)));
+
+        // Los cómics referencian a su autor con marcadores ("[ID_DE_MOEBIUS]")
+        // en el mismo orden en que aparecen los autores
+        Map<String, Integer> autorIndexes = new HashMap<>();
+        for (Comic comic : comicTemplates) {
+            autorIndexes.computeIfAbsent(comic.getAutorId(), k -> autorIndexes.size() % autorTemplates.size());
+        }
+
+        CatalogData data = new CatalogData();
+        int replicas = (comicCount + comicTemplates.size() - 1) / comicTemplates.size();
+        for (int r = 0; r < replicas; r++) {
+            for (int a = 0; a < autorTemplates.size(); a++) {
+                Autor template = autorTemplates.get(a);
+                Autor autor = new Autor();
+                autor.setId(objectId(r * autorTemplates.size() + a));
+                autor.setNombre(template.getNombre());
+                autor.setApellido(template.getApellido());
+                autor.setNacionalidad(template.getNacionalidad());
+                autor.setFechaNacimiento(template.getFechaNacimiento());
+                autor.setBiografia(template.getBiografia());
+                data.autores.add(autor);
+            }
+        }
+        for (int i = 0; i < comicCount; i++) {
+            int r = i / comicTemplates.size();
+            Comic template = comicTemplates.get(i % comicTemplates.size());
+            Comic comic = new Comic();
+            comic.setId(objectId(i));
+            comic.setTitulo(template.getTitulo());
+            comic.setAnioPublicacion(template.getAnioPublicacion());
+            comic.setEditorial(template.getEditorial());
+            comic.setSinopsis(template.getSinopsis());
+            comic.setGeneros(template.getGeneros());
+            comic.setAutorId(data.autores.get(r * autorTemplates.size() + autorIndexes.get(template.getAutorId())).getId());
+            data.comics.add(comic);
+        }
+        return data;
+    }
+
+    private static String objectId(int n) {
+        return String.format("%024x", n);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.comics_api.benchmark;
+
+import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.mapper.DtoMapper;
+import com.example.comics_api.mapper.DtoMapperImpl;
+import com.example.comics_api.repository.AutorRepository;
+import com.example.comics_api.service.AutorCache;
+import com.example.comics_api.service.ComicServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Bytes enviados y CPU por respuesta de List<ComicDTO> en cada formato que
+// negocia /api/comics (JSON, Smile, CBOR), sin comprimir y con gzip al nivel
+// por defecto, el que usa Tomcat. El tiempo medido es el de serializar (y
+// comprimir); los bytes de cada combinación se imprimen al final.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+
+    // Tamaño por defecto y máximo de una página
+    @Param({"100", "1000"})
+    private int comics;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    @Param("../ComicsLibraryData.json")
+    private String dataFile;
+
+    private List<ComicDTO> dtos;
+    private ObjectWriter writer;
+    private final CountingOutputStream sink = new CountingOutputStream();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        CatalogData data = CatalogData.load(dataFile, comics);
+        AutorRepository autorRepository = Stubs.autorRepository(data.autores);
+        ComicServiceImpl comicService = new ComicServiceImpl();
+        Stubs.inject(comicService, "comicRepository", Stubs.comicRepository(data.comics));
+        DtoMapper dtoMapper = new DtoMapperImpl();
+        Stubs.inject(comicService, "autorCache", new AutorCache(autorRepository, dtoMapper, data.autores.size(), Duration.ofHours(1)));
+        Stubs.inject(comicService, "dtoMapper", dtoMapper);
+        dtos = comicService.findAllComics();
+
+        Jackson2ObjectMapperBuilder builder;
+        switch (format) {
+            case "smile":
+                builder = Jackson2ObjectMapperBuilder.smile();
+                break;
+            case "cbor":
+                builder = Jackson2ObjectMapperBuilder.cbor();
+                break;
+            default:
+                builder = Jackson2ObjectMapperBuilder.json();
+        }
+        ObjectMapper objectMapper = builder.build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, ComicDTO.class));
+    }
+
+    // Devuelve los bytes escritos; writeValue cierra el flujo, lo que termina el gzip
+    @Benchmark
+    public long write() throws IOException {
+        sink.count = 0;
+        OutputStream out = compression.equals("gzip") ? new GZIPOutputStream(sink, 8192) : sink;
+        writer.writeValue(out, dtos);
+        return sink.count;
+    }
+
+    @TearDown(Level.Trial)
+    public void printSize() throws IOException {
+        write();
+        System.out.printf("%n%d cómics, %s, %s: %d bytes%n", comics, format, compression, sink.count);
+    }
+
+    // Cuenta los bytes sin guardarlos, como un socket
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
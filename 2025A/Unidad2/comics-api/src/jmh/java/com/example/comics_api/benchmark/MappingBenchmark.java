@@ -0,0 +1,77 @@
+package com.example.comics_api.benchmark;
+
+import com.example.comics_api.dto.AutorDTO;
+import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.mapper.DtoMapper;
+import com.example.comics_api.mapper.DtoMapperImpl;
+import com.example.comics_api.repository.AutorRepository;
+import com.example.comics_api.service.AutorCache;
+import com.example.comics_api.service.AutorsServiceImpl;
+import com.example.comics_api.service.ComicServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Coste de convertir entidades a DTO (ComicServiceImpl y AutorsServiceImpl)
+// con los repositorios en memoria. Con -prof gc se obtiene además
+// gc.alloc.rate.norm, los bytes reservados por operación.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int comics;
+
+    @Param("../ComicsLibraryData.json")
+    private String dataFile;
+
+    private ComicServiceImpl comicService;
+    private AutorsServiceImpl autorService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        CatalogData data = CatalogData.load(dataFile, comics);
+        AutorRepository autorRepository = Stubs.autorRepository(data.autores);
+        DtoMapper dtoMapper = new DtoMapperImpl();
+        AutorCache autorCache = new AutorCache(autorRepository, dtoMapper, data.autores.size(), Duration.ofHours(1));
+
+        comicService = new ComicServiceImpl();
+        Stubs.inject(comicService, "comicRepository", Stubs.comicRepository(data.comics));
+        Stubs.inject(comicService, "autorRepository", autorRepository);
+        Stubs.inject(comicService, "autorCache", autorCache);
+        Stubs.inject(comicService, "dtoMapper", dtoMapper);
+
+        autorService = new AutorsServiceImpl();
+        Stubs.inject(autorService, "autorRepository", autorRepository);
+        Stubs.inject(autorService, "autorCache", autorCache);
+        Stubs.inject(autorService, "dtoMapper", dtoMapper);
+    }
+
+    // Incluye la resolución de autores a través de AutorCache (aciertos tras el calentamiento)
+    @Benchmark
+    public List<ComicDTO> comicsToDTO() {
+        return comicService.findAllComics();
+    }
+
+    @Benchmark
+    public List<AutorDTO> autoresToDTO() {
+        return autorService.findAllAutores();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.comics_api.benchmark;
+
+import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.mapper.DtoMapper;
+import com.example.comics_api.mapper.DtoMapperImpl;
+import com.example.comics_api.service.AutorCache;
+import com.example.comics_api.service.ComicServiceImpl;
+import com.example.comics_api.repository.AutorRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Coste de serializar List<ComicDTO> con Jackson configurado como en Spring MVC
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int comics;
+
+    @Param("../ComicsLibraryData.json")
+    private String dataFile;
+
+    private List<ComicDTO> dtos;
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        CatalogData data = CatalogData.load(dataFile, comics);
+        AutorRepository autorRepository = Stubs.autorRepository(data.autores);
+        ComicServiceImpl comicService = new ComicServiceImpl();
+        Stubs.inject(comicService, "comicRepository", Stubs.comicRepository(data.comics));
+        DtoMapper dtoMapper = new DtoMapperImpl();
+        Stubs.inject(comicService, "autorCache", new AutorCache(autorRepository, dtoMapper, data.autores.size(), Duration.ofHours(1)));
+        Stubs.inject(comicService, "dtoMapper", dtoMapper);
+        dtos = comicService.findAllComics();
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, ComicDTO.class));
+    }
+
+    // Serializa directamente a un flujo de salida, como el cuerpo de una respuesta
+    @Benchmark
+    public void toStream() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), dtos);
+    }
+
+    // Serializa a un byte[] (incluye el coste de reservar el array completo)
+    @Benchmark
+    public byte[] toBytes() throws IOException {
+        return writer.writeValueAsBytes(dtos);
+    }
+}
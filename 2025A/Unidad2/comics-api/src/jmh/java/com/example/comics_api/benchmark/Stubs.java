@@ -0,0 +1,80 @@
+package com.example.comics_api.benchmark;
+
+import com.example.comics_api.model.Autor;
+import com.example.comics_api.model.Comic;
+import com.example.comics_api.repository.AutorRepository;
+import com.example.comics_api.repository.AutorSummary;
+import com.example.comics_api.repository.ComicRepository;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Repositorios en memoria para medir solo la conversión a DTO, sin Mongo
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    static ComicRepository comicRepository(List<Comic> comics) {
+        return proxy(ComicRepository.class, (name, args) -> {
+            if (name.equals("findAll")) {
+                return comics;
+            }
+            throw new UnsupportedOperationException(name);
+        });
+    }
+
+    static AutorRepository autorRepository(List<Autor> autores) {
+        Map<String, Autor> byId = autores.stream().collect(Collectors.toMap(Autor::getId, Function.identity()));
+        return proxy(AutorRepository.class, (name, args) -> {
+            switch (name) {
+                case "findAll":
+                    return autores;
+                case "findByIdIn":
+                    return ((Collection<?>) args[0]).stream()
+                            .map(byId::get)
+                            .filter(Objects::nonNull)
+                            .map(Stubs::summary)
+                            .collect(Collectors.toList());
+                default:
+                    throw new UnsupportedOperationException(name);
+            }
+        });
+    }
+
+    static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static AutorSummary summary(Autor autor) {
+        return new AutorSummary() {
+            public String getId() { return autor.getId(); }
+            public String getNombre() { return autor.getNombre(); }
+            public String getApellido() { return autor.getApellido(); }
+            public String getNacionalidad() { return autor.getNacionalidad(); }
+            public String getFechaNacimiento() { return autor.getFechaNacimiento(); }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> handler.handle(method.getName(), args));
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(String method, Object[] args);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.comics_api.config;
+
+import com.example.comics_api.service.ComicImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.nio.file.Path;
+
+// Importa un fichero al arrancar cuando se indica comics.import.file, p. ej.:
+// java -jar comics-api.jar --comics.import.file=../ComicsLibraryData.json --spring.main.web-application-type=none
+// Sin servidor web la aplicación termina al acabar la importación. Si se
+// interrumpe, al volver a lanzarla continúa desde el último checkpoint.
+@Component
+@ConditionalOnProperty("comics.import.file")
+public class ComicImportRunner implements ApplicationRunner {
+
+    @Autowired
+    private ComicImportService importService;
+
+    @Value("${comics.import.file}")
+    private Path file;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        importService.importFile(file);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.comics_api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import java.io.IOException;
+
+// Jackson hace flush al terminar de escribir, así que Tomcat envía los
+// listados de cómics por trozos sin conocer su tamaño y los comprimiría todos,
+// también los de unos pocos bytes. Se guarda el cuerpo en memoria (como mucho
+// una página) para enviarlo con Content-Length y que se aplique
+// server.compression.min-response-size. El catálogo completo en streaming
+// (stream=true) no pasa por aquí, para seguir con memoria constante.
+@Component
+@Profile("!reactive")
+public class ContentLengthFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/comics")
+                || request.getParameter("stream") != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, buffered);
+        } finally {
+            buffered.copyBodyToResponse();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.comics_api.config;
+
+import com.example.comics_api.model.Autor;
+import com.example.comics_api.model.Comic;
+import com.example.comics_api.util.TextNormalizer;
+import com.mongodb.client.MongoClient;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+// Crea al arrancar los índices declarados en las entidades (@Indexed,
+// @TextIndexed...) y rellena los campos normalizados de búsqueda en los
+// documentos cargados antes de que existieran.
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    // Cada cuánto se informa del avance de un índice que se está construyendo
+    private static final long PROGRESS_INTERVAL_SECONDS = 5;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    @Autowired
+    private MongoClient mongoClient;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initIndexes() {
+        ensureIndexes(Comic.class);
+        ensureIndexes(Autor.class);
+        backfill(Comic.class, "titulo", "tituloNormalizado");
+        backfill(Autor.class, "nombre", "nombreNormalizado");
+        initVersion(Comic.class);
+        initVersion(Autor.class);
+    }
+
+    // Los documentos guardados antes de añadir @Version no tienen el campo y
+    // las escrituras con comprobación de versión nunca los encontrarían.
+    private void initVersion(Class<?> entityClass) {
+        long updated = mongoTemplate.updateMulti(new Query(Criteria.where("version").exists(false)),
+                Update.update("version", 0L), mongoTemplate.getCollectionName(entityClass)).getModifiedCount();
+        if (updated > 0) {
+            log.info("Campo version inicializado en {} documentos de {}", updated,
+                    mongoTemplate.getCollectionName(entityClass));
+        }
+    }
+
+    private void ensureIndexes(Class<?> entityClass) {
+        String collection = mongoTemplate.getCollectionName(entityClass);
+        IndexOperations indexOps = mongoTemplate.indexOps(entityClass);
+        for (IndexDefinition index : new MongoPersistentEntityIndexResolver(mappingContext).resolveIndexFor(entityClass)) {
+            ensureIndex(collection, indexOps, index);
+        }
+    }
+
+    // Crea el índice (no hace nada si ya existe) e informa periódicamente del
+    // avance mientras Mongo lo construye, que en colecciones grandes puede tardar.
+    private void ensureIndex(String collection, IndexOperations indexOps, IndexDefinition index) {
+        long start = System.nanoTime();
+        CompletableFuture<String> build = CompletableFuture.supplyAsync(() -> indexOps.ensureIndex(index));
+        while (true) {
+            try {
+                String name = build.get(PROGRESS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+                log.info("Índice {} listo en {} ({} ms)", name, collection,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                return;
+            } catch (TimeoutException e) {
+                logBuildProgress(collection, index);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error("No se pudo crear el índice {} en {}", index.getIndexKeys().toJson(), collection, e.getCause());
+                return;
+            }
+        }
+    }
+
+    // Consulta currentOp por la construcción en curso; requiere permisos de
+    // administración, así que si no los hay solo se informa de que sigue en marcha.
+    private void logBuildProgress(String collection, IndexDefinition index) {
+        String keys = index.getIndexKeys().toJson();
+        try {
+            Document result = mongoClient.getDatabase("admin").runCommand(new Document("currentOp", 1)
+                    .append("command.createIndexes", collection));
+            for (Document op : result.getList("inprog", Document.class, List.of())) {
+                Document progress = op.get("progress", Document.class);
+                if (progress != null) {
+                    log.info("Construyendo índice {} en {}: {}/{} documentos", keys, collection,
+                            progress.get("done"), progress.get("total"));
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.debug("No se pudo consultar currentOp", e);
+        }
+        log.info("Construyendo índice {} en {}...", keys, collection);
+    }
+
+    private void backfill(Class<?> entityClass, String sourceField, String normalizedField) {
+        Query query = new Query(Criteria.where(normalizedField).exists(false));
+        query.fields().include(sourceField);
+
+        String collection = mongoTemplate.getCollectionName(entityClass);
+        BulkOperations bulk = null;
+        int pending = 0;
+        long updated = 0;
+        try (Stream<Document> docs = mongoTemplate.stream(query, Document.class, collection)) {
+            for (Document doc : (Iterable<Document>) docs::iterator) {
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+                }
+                bulk.updateOne(new Query(Criteria.where("_id").is(doc.get("_id"))),
+                        Update.update(normalizedField, TextNormalizer.normalize(doc.getString(sourceField))));
+                if (++pending == BACKFILL_BATCH_SIZE) {
+                    bulk.execute();
+                    updated += pending;
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+        }
+        if (bulk != null) {
+            bulk.execute();
+            updated += pending;
+        }
+        if (updated > 0) {
+            log.info("Campo {} rellenado en {} documentos de {}", normalizedField, updated, collection);
+        }
+    }
+}
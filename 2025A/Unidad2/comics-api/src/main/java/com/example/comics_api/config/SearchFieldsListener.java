@@ -0,0 +1,24 @@
+package com.example.comics_api.config;
+
+import com.example.comics_api.model.Autor;
+import com.example.comics_api.model.Comic;
+import com.example.comics_api.util.TextNormalizer;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+// Mantiene los campos normalizados de búsqueda al día al insertar o guardar
+// entidades completas (también en las inserciones en bloque de la importación).
+// Las actualizaciones con $set de PUT y PATCH los calculan ellas mismas.
+@Component
+public class SearchFieldsListener implements BeforeConvertCallback<Object> {
+
+    @Override
+    public Object onBeforeConvert(Object entity, String collection) {
+        if (entity instanceof Comic comic) {
+            comic.setTituloNormalizado(TextNormalizer.normalize(comic.getTitulo()));
+        } else if (entity instanceof Autor autor) {
+            autor.setNombreNormalizado(TextNormalizer.normalize(autor.getNombre()));
+        }
+        return entity;
+    }
+}
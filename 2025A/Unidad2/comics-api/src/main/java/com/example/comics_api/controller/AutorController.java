@@ -1,5 +1,155 @@
 package com.example.comics_api.controller;
 
+import com.example.comics_api.dto.AutorDTO;
+import com.example.comics_api.dto.AutorPageDTO;
+import com.example.comics_api.dto.AutorPatchDTO;
+import com.example.comics_api.model.Autor;
+import com.example.comics_api.service.IAutorService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+import java.util.Optional;
+
+// Las respuestas con un autor llevan un ETag fuerte calculado a partir de su
+// versión. Spring responde 304 sin cuerpo a los GET cuyo If-None-Match
+// coincide con el ETag de la ResponseEntity, y Cache-Control: no-cache obliga
+// a la CDN y a los clientes a revalidar en vez de servir una copia caducada.
+// El mismo ETag en If-Match hace condicionales PUT y PATCH.
+@RestController
+@RequestMapping("/api/autores")
+@Profile("!reactive")
 public class AutorController {
 
+    private static final String INCLUDE_COMICS = "comics";
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    @Autowired
+    private IAutorService autorService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Autores con su número de cómics, por páginas como los listados de cómics
+    // (cursor de la siguiente página en la cabecera X-Next-Cursor)
+    @GetMapping("/")
+    public ResponseEntity<List<AutorDTO>> getAllAutores(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE || (cursor != null && !ObjectId.isValid(cursor))) {
+            return ResponseEntity.badRequest().build();
+        }
+        AutorPageDTO page = autorService.findAutores(cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(ComicController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.content());
+    }
+
+    // include=comics añade los cómics del autor, resueltos en la misma consulta
+    @GetMapping("/{id}")
+    public ResponseEntity<AutorDTO> getAutorById(
+            @PathVariable String id,
+            @RequestParam(required = false) String include) throws JsonProcessingException {
+        if (include != null && !include.equals(INCLUDE_COMICS)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<AutorDTO> autor = include == null
+                ? autorService.findAutorById(id)
+                : autorService.findAutorWithComics(id);
+        if (autor.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return withETag(ResponseEntity.ok(), autor.get());
+    }
+
+    @PostMapping
+    public ResponseEntity<AutorDTO> createAutor(@RequestBody Autor autor) throws JsonProcessingException {
+        return withETag(ResponseEntity.status(HttpStatus.CREATED), autorService.saveAutor(autor));
+    }
+
+    // Con If-Match solo se escribe si el autor sigue en esa versión (409 si no)
+    @PutMapping("/{id}")
+    public ResponseEntity<AutorDTO> updateAutor(
+            @PathVariable String id,
+            @RequestBody Autor autor,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws JsonProcessingException {
+        return updated(autorService.updateAutor(id, autor, ETags.expectedVersion(ifMatch)));
+    }
+
+    // Actualización parcial: solo se envían y se escriben los campos que cambian
+    @PatchMapping("/{id}")
+    public ResponseEntity<AutorDTO> patchAutor(
+            @PathVariable String id,
+            @RequestBody AutorPatchDTO patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws JsonProcessingException {
+        return updated(autorService.patchAutor(id, patch, ETags.expectedVersion(ifMatch)));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteAutor(@PathVariable String id) {
+        return autorService.deleteAutor(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    // Búsqueda por prefijo del nombre, sin distinguir mayúsculas ni tildes
+    @GetMapping("/nombre/{nombre}")
+    public ResponseEntity<List<AutorDTO>> getAutoresByNombre(@PathVariable String nombre) {
+        return ResponseEntity.ok(autorService.findAutoresByNombre(nombre));
+    }
+
+    @GetMapping("/nacionalidad/{nacionalidad}")
+    public ResponseEntity<List<AutorDTO>> getAutoresByNacionalidad(@PathVariable String nacionalidad) {
+        return ResponseEntity.ok(autorService.findAutoresByNacionalidad(nacionalidad));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleConflict() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    private ResponseEntity<AutorDTO> updated(Optional<AutorDTO> autor) throws JsonProcessingException {
+        if (autor.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return withETag(ResponseEntity.ok(), autor.get());
+    }
+
+    private ResponseEntity<AutorDTO> withETag(ResponseEntity.BodyBuilder response, AutorDTO autor)
+            throws JsonProcessingException {
+        String eTag = eTag(autor);
+        if (eTag != null) {
+            response.eTag(eTag);
+        }
+        return response.cacheControl(CacheControl.noCache()).body(autor);
+    }
+
+    // La versión cambia con cada escritura del autor. Con include=comics el
+    // cuerpo depende también de sus cómics, así que se le añade un MD5 de su
+    // serialización. Sin versión (documento sin inicializar) no hay ETag.
+    private String eTag(AutorDTO autor) throws JsonProcessingException {
+        if (autor.version() == null) {
+            return null;
+        }
+        if (autor.comics() == null) {
+            return ETags.of(autor.version());
+        }
+        String comics = DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(autor.comics()));
+        return "\"" + autor.version() + "-" + comics + "\"";
+    }
 }
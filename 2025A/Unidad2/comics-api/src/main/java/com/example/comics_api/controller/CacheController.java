@@ -0,0 +1,58 @@
+package com.example.comics_api.controller;
+
+import com.example.comics_api.service.AutorCache;
+import com.example.comics_api.service.BoundedCache;
+import com.example.comics_api.service.ComicReplica;
+import com.example.comics_api.service.FacetCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private AutorCache autorCache;
+
+    @Autowired
+    private FacetCache facetCache;
+
+    // Solo existe con comics.replica.enabled=true
+    @Autowired(required = false)
+    private ComicReplica comicReplica;
+
+    // Métricas de la caché de autores: tamaño, aciertos, fallos y desalojos
+    @GetMapping("/autores")
+    public ResponseEntity<BoundedCache.Stats> getAutorCacheStats() {
+        return ResponseEntity.ok(autorCache.stats());
+    }
+
+    @DeleteMapping("/autores")
+    public ResponseEntity<Void> clearAutorCache() {
+        autorCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    // Métricas de la caché de recuentos de facetas
+    @GetMapping("/facetas")
+    public ResponseEntity<BoundedCache.Stats> getFacetCacheStats() {
+        return ResponseEntity.ok(facetCache.stats());
+    }
+
+    @DeleteMapping("/facetas")
+    public ResponseEntity<Void> clearFacetCache() {
+        facetCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    // Estado de la réplica en memoria del catálogo: tamaño, cambios aplicados
+    // y desfase respecto a Mongo. 404 si la réplica no está activada.
+    @GetMapping("/replica")
+    public ResponseEntity<ComicReplica.Stats> getReplicaStats() {
+        if (comicReplica == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(comicReplica.stats());
+    }
+}
@@ -1,79 +1,263 @@
 package com.example.comics_api.controller;
 
 import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.dto.ComicFacetPageDTO;
+import com.example.comics_api.dto.ComicPageDTO;
+import com.example.comics_api.dto.ComicPatchDTO;
 import com.example.comics_api.model.Comic;
+import com.example.comics_api.service.ComicFilter;
+import com.example.comics_api.service.ComicSort;
+import com.example.comics_api.service.ComicView;
+import com.example.comics_api.service.GenreMatch;
 import com.example.comics_api.service.IComicService;
+import com.example.comics_api.service.SearchMode;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/comics")
+@Profile("!reactive") // Con el perfil "reactive" sirve ComicRouter
 public class ComicController {
 
+    // Los listados se devuelven por páginas; el cursor de la siguiente página
+    // viaja en esta cabecera para no cambiar la forma del cuerpo (un array).
+    // Todos aceptan view=summary para omitir la sinopsis.
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     @Autowired
     private IComicService comicService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping("/")
-    public ResponseEntity<List<ComicDTO>> getAllComics() {
-        return ResponseEntity.ok(comicService.findAllComics());
+    public ResponseEntity<List<ComicDTO>> getAllComics(
+            @RequestParam(defaultValue = "full") ComicView view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        if (!isValidPage(cursor, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return toResponse(comicService.findAllComics(view, cursor, size));
+    }
+
+    // Devuelve el catálogo completo como un array JSON escrito a medida que
+    // se lee el cursor de Mongo, con memoria constante sin importar el tamaño.
+    @GetMapping(value = "/", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllComics(
+            @RequestParam(defaultValue = "full") ComicView view) {
+        ObjectWriter writer = objectMapper.writerFor(ComicDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                comicService.streamAllComics(view, comic -> {
+                    try {
+                        writer.writeValue(generator, comic);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
+    // Con ETag fuerte de la versión del cómic: If-None-Match igual responde 304
     @GetMapping("/{id}")
     public ResponseEntity<ComicDTO> getComicById(@PathVariable String id) {
         return comicService.findComicById(id)
-                .map(ResponseEntity::ok)
+                .map(comic -> withETag(ResponseEntity.ok(), comic))
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    /*
     @PostMapping
     public ResponseEntity<ComicDTO> createComic(@RequestBody Comic comic) {
-        return new ResponseEntity<>(comicService.saveComic(comic), HttpStatus.CREATED);
+        return withETag(ResponseEntity.status(HttpStatus.CREATED), comicService.saveComic(comic));
     }
 
+    // Con If-Match solo se escribe si el cómic sigue en esa versión (409 si no)
     @PutMapping("/{id}")
-    public ResponseEntity<ComicDTO> updateComic(@PathVariable String id, @RequestBody Comic comic) {
-        return comicService.findComicById(id)
-                .map(comicDTO -> {
-                    comic.setId(id);
-                    return ResponseEntity.ok(comicService.saveComic(comic));
-                })
+    public ResponseEntity<ComicDTO> updateComic(
+            @PathVariable String id,
+            @RequestBody Comic comic,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return comicService.updateComic(id, comic, ETags.expectedVersion(ifMatch))
+                .map(updated -> withETag(ResponseEntity.ok(), updated))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Actualización parcial: solo se envían y se escriben los campos que cambian
+    @PatchMapping("/{id}")
+    public ResponseEntity<ComicDTO> patchComic(
+            @PathVariable String id,
+            @RequestBody ComicPatchDTO patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return comicService.patchComic(id, patch, ETags.expectedVersion(ifMatch))
+                .map(updated -> withETag(ResponseEntity.ok(), updated))
                 .orElse(ResponseEntity.notFound().build());
     }
-                
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteComic(@PathVariable String id) {
-        return comicService.findComicById(id)
-                .map(comicDTO -> {
-                    comicService.deleteComic(id);
-                    return ResponseEntity.noContent().<Void>build();
-                })
-                .orElse(ResponseEntity.notFound().build());
+        return comicService.deleteComic(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
     }
-                */
 
     
+    // mode=prefix (por defecto, usa índice), token (palabras completas) o contains
     @GetMapping("/titulo/{titulo}")
-    public ResponseEntity<List<ComicDTO>> getComicsByTitulo(@PathVariable String titulo) {
-        return ResponseEntity.ok(comicService.findComicsByTitulo(titulo));
+    public ResponseEntity<List<ComicDTO>> getComicsByTitulo(
+            @PathVariable String titulo,
+            @RequestParam(defaultValue = "prefix") SearchMode mode,
+            @RequestParam(defaultValue = "full") ComicView view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        if (!isValidPage(cursor, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return toResponse(comicService.findComicsByTitulo(titulo, mode, view, cursor, size));
     }
 
     @GetMapping("/autor/{autorId}")
-    public ResponseEntity<List<ComicDTO>> getComicsByAutorId(@PathVariable String autorId) {
-        return ResponseEntity.ok(comicService.findComicsByAutorId(autorId));
+    public ResponseEntity<List<ComicDTO>> getComicsByAutorId(
+            @PathVariable String autorId,
+            @RequestParam(defaultValue = "full") ComicView view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        if (!isValidPage(cursor, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return toResponse(comicService.findComicsByAutorId(autorId, view, cursor, size));
     }
 
     @GetMapping("/anio/{anio}")
-    public ResponseEntity<List<ComicDTO>> getComicsByAnioPublicacion(@PathVariable int anio) {
-        return ResponseEntity.ok(comicService.findComicsByAnioPublicacion(anio));
+    public ResponseEntity<List<ComicDTO>> getComicsByAnioPublicacion(
+            @PathVariable int anio,
+            @RequestParam(defaultValue = "full") ComicView view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        if (!isValidPage(cursor, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return toResponse(comicService.findComicsByAnioPublicacion(anio, view, cursor, size));
     }
 
     @GetMapping("/genero/{genero}")
-    public ResponseEntity<List<ComicDTO>> getComicsByGenero(@PathVariable String genero) {
-        return ResponseEntity.ok(comicService.findComicsByGenero(genero));
+    public ResponseEntity<List<ComicDTO>> getComicsByGenero(
+            @PathVariable String genero,
+            @RequestParam(defaultValue = "full") ComicView view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        if (!isValidPage(cursor, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return toResponse(comicService.findComicsByGenero(genero, view, cursor, size));
+    }
+
+    // Búsqueda con cualquier combinación de filtros (todos opcionales; genero
+    // se puede repetir y generoMatch dice si el cómic ha de tener todos o
+    // alguno), ordenada por sort y direction. El cursor de otro orden no vale.
+    @GetMapping("/buscar")
+    public ResponseEntity<List<ComicDTO>> searchComics(
+            @RequestParam(required = false) String titulo,
+            @RequestParam(required = false) String autorId,
+            @RequestParam(required = false) List<String> genero,
+            @RequestParam(defaultValue = "all") GenreMatch generoMatch,
+            @RequestParam(required = false) Integer anioDesde,
+            @RequestParam(required = false) Integer anioHasta,
+            @RequestParam(required = false) String editorial,
+            @RequestParam(defaultValue = "id") ComicSort sort,
+            @RequestParam(defaultValue = "asc") Sort.Direction direction,
+            @RequestParam(defaultValue = "full") ComicView view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        ComicFilter filter = new ComicFilter(titulo, autorId, genero, generoMatch, anioDesde, anioHasta, editorial);
+        try {
+            return toResponse(comicService.searchComics(filter, sort, direction, view, cursor, size));
+        } catch (IllegalArgumentException e) {
+            // Cursor mal formado o de otro orden
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Búsqueda facetada: los cómics que cumplen los filtros (los mismos que
+    // /buscar) y, en la misma respuesta, los recuentos de todos ellos por
+    // género, década y editorial.
+    @GetMapping("/facetas")
+    public ResponseEntity<ComicFacetPageDTO> getComicsWithFacets(
+            @RequestParam(required = false) String titulo,
+            @RequestParam(required = false) String autorId,
+            @RequestParam(required = false) List<String> genero,
+            @RequestParam(defaultValue = "all") GenreMatch generoMatch,
+            @RequestParam(required = false) Integer anioDesde,
+            @RequestParam(required = false) Integer anioHasta,
+            @RequestParam(required = false) String editorial,
+            @RequestParam(defaultValue = "full") ComicView view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        if (!isValidPage(cursor, size)) {
+            return ResponseEntity.badRequest().build();
+        }
+        ComicFilter filter = new ComicFilter(titulo, autorId, genero, generoMatch, anioDesde, anioHasta, editorial);
+        ComicFacetPageDTO page = comicService.findComicsWithFacets(filter, view, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleConflict() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    private static ResponseEntity<ComicDTO> withETag(ResponseEntity.BodyBuilder response, ComicDTO comic) {
+        String eTag = ETags.of(comic.version());
+        if (eTag != null) {
+            response.eTag(eTag);
+        }
+        return response.cacheControl(CacheControl.noCache()).body(comic);
+    }
+
+    private boolean isValidPage(String cursor, int size) {
+        return size > 0 && size <= MAX_PAGE_SIZE
+                && (cursor == null || ObjectId.isValid(cursor));
+    }
+
+    private ResponseEntity<List<ComicDTO>> toResponse(ComicPageDTO page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.content());
     }
 }
\ No newline at end of file
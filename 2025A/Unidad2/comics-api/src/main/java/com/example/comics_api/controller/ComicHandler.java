@@ -0,0 +1,95 @@
+package com.example.comics_api.controller;
+
+import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.dto.ComicPageDTO;
+import com.example.comics_api.service.ComicView;
+import com.example.comics_api.service.IReactiveComicService;
+import com.example.comics_api.service.SearchMode;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import java.util.Locale;
+
+// Manejadores de las rutas funcionales de /api/comics (perfil "reactive").
+// Mismos parámetros y respuestas que ComicController.
+@Component
+@Profile("reactive")
+public class ComicHandler {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    @Autowired
+    private IReactiveComicService comicService;
+
+    public Mono<ServerResponse> getAllComics(ServerRequest request) {
+        if (request.queryParam("stream").filter("true"::equals).isPresent()) {
+            ComicView view = enumParam(request, "view", ComicView.FULL);
+            return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(comicService.streamAllComics(view), ComicDTO.class);
+        }
+        return page(request, (view, cursor, size) -> comicService.findAllComics(view, cursor, size));
+    }
+
+    public Mono<ServerResponse> getComicById(ServerRequest request) {
+        return comicService.findComicById(request.pathVariable("id"))
+                .flatMap(comic -> ServerResponse.ok().bodyValue(comic))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    public Mono<ServerResponse> getComicsByTitulo(ServerRequest request) {
+        String titulo = request.pathVariable("titulo");
+        SearchMode mode = enumParam(request, "mode", SearchMode.PREFIX);
+        return page(request, (view, cursor, size) -> comicService.findComicsByTitulo(titulo, mode, view, cursor, size));
+    }
+
+    public Mono<ServerResponse> getComicsByAutorId(ServerRequest request) {
+        String autorId = request.pathVariable("autorId");
+        return page(request, (view, cursor, size) -> comicService.findComicsByAutorId(autorId, view, cursor, size));
+    }
+
+    public Mono<ServerResponse> getComicsByAnioPublicacion(ServerRequest request) {
+        int anio = Integer.parseInt(request.pathVariable("anio"));
+        return page(request, (view, cursor, size) -> comicService.findComicsByAnioPublicacion(anio, view, cursor, size));
+    }
+
+    public Mono<ServerResponse> getComicsByGenero(ServerRequest request) {
+        String genero = request.pathVariable("genero");
+        return page(request, (view, cursor, size) -> comicService.findComicsByGenero(genero, view, cursor, size));
+    }
+
+    private Mono<ServerResponse> page(ServerRequest request, PageQuery query) {
+        ComicView view = enumParam(request, "view", ComicView.FULL);
+        String cursor = request.queryParam("cursor").orElse(null);
+        int size = request.queryParam("size").map(Integer::parseInt).orElse(DEFAULT_PAGE_SIZE);
+        if (size <= 0 || size > MAX_PAGE_SIZE || (cursor != null && !ObjectId.isValid(cursor))) {
+            return ServerResponse.badRequest().build();
+        }
+        return query.find(view, cursor, size).flatMap(this::toResponse);
+    }
+
+    private Mono<ServerResponse> toResponse(ComicPageDTO page) {
+        ServerResponse.BodyBuilder response = ServerResponse.ok();
+        if (page.nextCursor() != null) {
+            response.header(ComicController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.bodyValue(page.content());
+    }
+
+    private static <E extends Enum<E>> E enumParam(ServerRequest request, String name, E defaultValue) {
+        return request.queryParam(name)
+                .map(value -> Enum.valueOf(defaultValue.getDeclaringClass(), value.toUpperCase(Locale.ROOT)))
+                .orElse(defaultValue);
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        Mono<ComicPageDTO> find(ComicView view, String cursor, int size);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.comics_api.controller;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+// Rutas funcionales equivalentes a ComicController, activas con el perfil "reactive"
+@Configuration
+@Profile("reactive")
+public class ComicRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> comicRoutes(ComicHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/comics", builder -> builder
+                        .GET("/", handler::getAllComics)
+                        .GET("/titulo/{titulo}", handler::getComicsByTitulo)
+                        .GET("/autor/{autorId}", handler::getComicsByAutorId)
+                        .GET("/anio/{anio}", handler::getComicsByAnioPublicacion)
+                        .GET("/genero/{genero}", handler::getComicsByGenero)
+                        .GET("/{id}", handler::getComicById))
+                // Parámetros mal formados (size, anio, view, mode) responden 400 como en ComicController
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(IllegalArgumentException.class, e -> ServerResponse.badRequest().build()))
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.comics_api.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// ETags fuertes a partir del campo version (@Version) de cómics y autores
+final class ETags {
+
+    private ETags() {
+    }
+
+    // null si el documento aún no tiene versión
+    static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    // Versión que exige una cabecera If-Match, o null si no la hay o es "*".
+    // De los ETags de un autor con sus cómics ("3-<md5>") solo cuenta la
+    // versión: las escrituras solo tocan los campos del autor.
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            String value = tag.substring(1, tag.length() - 1);
+            int separator = value.indexOf('-');
+            try {
+                return Long.parseLong(separator < 0 ? value : value.substring(0, separator));
+            } catch (NumberFormatException e) {
+                // Se responde 400 más abajo
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match no válido: " + ifMatch);
+    }
+}
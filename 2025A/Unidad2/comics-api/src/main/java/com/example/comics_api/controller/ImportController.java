@@ -0,0 +1,41 @@
+package com.example.comics_api.controller;
+
+import com.example.comics_api.dto.ImportReportDTO;
+import com.example.comics_api.service.ComicImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/import")
+@Profile("!reactive")
+public class ImportController {
+
+    @Autowired
+    private ComicImportService importService;
+
+    // Importa un fichero con el formato de ComicsLibraryData.json enviado como
+    // cuerpo de la petición, que se procesa a medida que llega:
+    // curl -X POST --data-binary @ComicsLibraryData.json -H 'Content-Type: application/json' .../api/import
+    @PostMapping
+    public ResponseEntity<ImportReportDTO> importCatalog(
+            InputStream body,
+            @RequestParam(required = false) Integer batchSize) throws IOException {
+        if (batchSize != null && batchSize < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            ImportReportDTO report = batchSize == null
+                    ? importService.importCatalog(body)
+                    : importService.importCatalog(body, batchSize);
+            return ResponseEntity.ok(report);
+        } catch (JsonProcessingException e) {
+            // Lo leído antes del error ya está insertado
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
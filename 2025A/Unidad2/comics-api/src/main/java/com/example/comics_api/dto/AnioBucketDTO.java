@@ -0,0 +1,5 @@
+package com.example.comics_api.dto;
+
+// Número de cómics publicados entre desde y hasta, ambos incluidos
+public record AnioBucketDTO(int desde, int hasta, long total) {
+}
@@ -1,13 +1,20 @@
 package com.example.comics_api.dto;
 
-import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
 
-@Data
-public class AutorDTO {
-    private String id;
-    private String nombre;
-    private String apellido;
-    private String nacionalidad;
-    private String fechaNacimiento;
-    private String biografia;
+// Inmutable: una misma instancia (p. ej. la de AutorCache) puede compartirse
+// entre todos los cómics de ese autor y entre respuestas.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AutorDTO(
+        String id,
+        String nombre,
+        String apellido,
+        String nacionalidad,
+        String fechaNacimiento,
+        String biografia,
+        List<ComicDTO> comics,  // solo con include=comics
+        Integer numComics,      // en el listado de autores y con include=comics
+        @JsonIgnore Long version) { // no se serializa: viaja en la cabecera ETag
 }
@@ -0,0 +1,8 @@
+package com.example.comics_api.dto;
+
+import java.util.List;
+
+public record AutorPageDTO(
+        List<AutorDTO> content,
+        String nextCursor) { // _id del último autor de la página, null si no hay más
+}
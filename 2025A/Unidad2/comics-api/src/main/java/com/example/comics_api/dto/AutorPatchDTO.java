@@ -0,0 +1,11 @@
+package com.example.comics_api.dto;
+
+// Cuerpo de PATCH /api/autores/{id}: solo se modifican los campos presentes
+// (no nulos); el resto del documento no se reescribe.
+public record AutorPatchDTO(
+        String nombre,
+        String apellido,
+        String nacionalidad,
+        String fechaNacimiento,
+        String biografia) {
+}
@@ -1,15 +1,17 @@
 package com.example.comics_api.dto;
 
-import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 
-@Data
-public class ComicDTO {
-    private String id;
-    private String titulo;
-    private int anioPublicacion;
-    private String editorial;
-    private String sinopsis;
-    private List<String> generos;
-    private AutorDTO autor; // Relación con el autor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ComicDTO(
+        String id,
+        String titulo,
+        int anioPublicacion,
+        String editorial,
+        String sinopsis,
+        List<String> generos,
+        AutorDTO autor,     // Relación con el autor
+        @JsonIgnore Long version) { // no se serializa: viaja en la cabecera ETag
 }
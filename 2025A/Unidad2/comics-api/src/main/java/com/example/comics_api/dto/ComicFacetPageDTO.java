@@ -0,0 +1,11 @@
+package com.example.comics_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.List;
+
+// Una página de cómics filtrados junto con los recuentos de todo el filtro
+public record ComicFacetPageDTO(
+        List<ComicDTO> comics,
+        @JsonIgnore String nextCursor, // viaja en la cabecera X-Next-Cursor
+        FacetasDTO facetas) {
+}
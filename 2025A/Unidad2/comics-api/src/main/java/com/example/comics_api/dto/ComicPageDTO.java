@@ -0,0 +1,8 @@
+package com.example.comics_api.dto;
+
+import java.util.List;
+
+public record ComicPageDTO(
+        List<ComicDTO> content,
+        String nextCursor) { // _id del último cómic de la página, null si no hay más
+}
@@ -0,0 +1,14 @@
+package com.example.comics_api.dto;
+
+import java.util.List;
+
+// Cuerpo de PATCH /api/comics/{id}: solo se modifican los campos presentes
+// (no nulos); el resto del documento no se reescribe.
+public record ComicPatchDTO(
+        String titulo,
+        Integer anioPublicacion,
+        String editorial,
+        String sinopsis,
+        List<String> generos,
+        String autorId) {
+}
@@ -0,0 +1,5 @@
+package com.example.comics_api.dto;
+
+// Número de cómics con un valor de una faceta (un género, una editorial)
+public record FacetCountDTO(String valor, long total) {
+}
@@ -0,0 +1,18 @@
+package com.example.comics_api.dto;
+
+import java.util.List;
+
+// Recuentos de todos los cómics que cumplen un filtro, no solo los de la
+// página. Inmutable: FacetCache comparte la misma instancia entre respuestas.
+public record FacetasDTO(
+        long total,
+        List<FacetCountDTO> generos,      // de más a menos cómics
+        List<AnioBucketDTO> anios,        // por décadas, en orden
+        List<FacetCountDTO> editoriales) { // de más a menos cómics
+
+    public FacetasDTO {
+        generos = List.copyOf(generos);
+        anios = List.copyOf(anios);
+        editoriales = List.copyOf(editoriales);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.comics_api.dto;
+
+// Resultado de una importación masiva
+public record ImportReportDTO(
+        long autores,            // autores insertados
+        long autoresExistentes,  // autores del fichero que ya estaban en la base de datos
+        long comics,             // cómics insertados
+        long comicsSinAutor,     // cómics cuyo autor no se pudo resolver por nombre
+        long errores,            // documentos rechazados por Mongo
+        long millis,
+        double docsPorSegundo) {
+}
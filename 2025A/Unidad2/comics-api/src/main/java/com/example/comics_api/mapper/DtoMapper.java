@@ -0,0 +1,70 @@
+package com.example.comics_api.mapper;
+
+import com.example.comics_api.dto.AutorDTO;
+import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.dto.ComicPatchDTO;
+import com.example.comics_api.model.Autor;
+import com.example.comics_api.model.Comic;
+import com.example.comics_api.repository.AutorSummary;
+import java.util.List;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+// Conversión entidad -> DTO compartida por todos los servicios. MapStruct
+// genera la implementación (DtoMapperImpl) al compilar: llamadas directas a
+// getters y constructores, sin reflexión.
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface DtoMapper {
+
+    @Mapping(target = "comics", ignore = true)
+    @Mapping(target = "numComics", ignore = true)
+    AutorDTO toDTO(Autor autor);
+
+    // Autor con sus cómics (o solo su número) resueltos en una agregación
+    @Mapping(target = "comics", source = "comics")
+    @Mapping(target = "numComics", source = "numComics")
+    AutorDTO toDTO(Autor autor, List<ComicDTO> comics, Integer numComics);
+
+    @Mapping(target = "biografia", ignore = true)
+    @Mapping(target = "comics", ignore = true)
+    @Mapping(target = "numComics", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    AutorDTO toDTO(AutorSummary autor);
+
+    // El autor se recibe ya convertido para que todos los cómics de un mismo
+    // autor compartan la misma instancia de AutorDTO.
+    @Mapping(target = "id", source = "comic.id")
+    @Mapping(target = "version", source = "comic.version")
+    @Mapping(target = "autor", source = "autor")
+    ComicDTO toDTO(Comic comic, AutorDTO autor);
+
+    // Aplica un PATCH sobre el cómic anterior para devolverlo sin releerlo;
+    // los campos nulos del PATCH se dejan como estaban.
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "tituloNormalizado", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void patch(ComicPatchDTO patch, @MappingTarget Comic comic);
+
+    // El autor embebido en un cómic no lleva la biografía.
+    @Named("embebido")
+    @Mapping(target = "biografia", ignore = true)
+    @Mapping(target = "comics", ignore = true)
+    @Mapping(target = "numComics", ignore = true)
+    AutorDTO withoutBiografia(AutorDTO autor);
+
+    default AutorDTO toEmbeddedDTO(AutorDTO autor) {
+        return autor == null || autor.biografia() == null ? autor : withoutBiografia(autor);
+    }
+
+    // MapStruct copiaría la lista de géneros en cada cómic; el DTO se
+    // serializa y se descarta enseguida, así que se reutiliza la de la entidad.
+    default List<String> generos(List<String> generos) {
+        return generos;
+    }
+}
@@ -2,7 +2,10 @@ package com.example.comics_api.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import java.util.List;
 
 
 @Data
@@ -11,8 +14,14 @@ public class Autor {
     @Id
     private String id;
     private String nombre;
+    @Indexed
+    private String nombreNormalizado; // Nombre en minúsculas y sin tildes, para búsquedas por prefijo
     private String apellido;
+    @Indexed
     private String nacionalidad;
     private String fechaNacimiento;
     private String biografia;
-}
\ No newline at end of file
+    private List<String> comicsIds; // Ids de sus cómics; se mantiene con $addToSet/$pull al guardar o borrar cómics
+    @Version
+    private Long version; // Se incrementa en cada escritura; de él sale el ETag del autor
+}
@@ -2,18 +2,41 @@ package com.example.comics_api.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.util.List;
 
 @Data
-@Document(collection = "Comics")
+@Document(collection = "Comics", language = "spanish")
+// Cada filtro de igualdad va seguido de _id para que los listados paginados
+// por cursor se resuelvan con el índice, sin ordenar en memoria. Para la
+// búsqueda combinada, los filtros de igualdad más usados van seguidos del año
+// (igualdad, orden, rango): filtrar por autor, editorial o género y ordenar o
+// acotar por año recorre un solo índice.
+@CompoundIndexes({
+    @CompoundIndex(name = "autorId_id", def = "{'autorId': 1, '_id': 1}"),
+    @CompoundIndex(name = "anioPublicacion_id", def = "{'anioPublicacion': 1, '_id': 1}"),
+    @CompoundIndex(name = "generos_id", def = "{'generos': 1, '_id': 1}"), // multikey
+    @CompoundIndex(name = "editorial_id", def = "{'editorial': 1, '_id': 1}"),
+    @CompoundIndex(name = "tituloNormalizado_id", def = "{'tituloNormalizado': 1, '_id': 1}"),
+    @CompoundIndex(name = "autorId_anioPublicacion_id", def = "{'autorId': 1, 'anioPublicacion': 1, '_id': 1}"),
+    @CompoundIndex(name = "editorial_anioPublicacion_id", def = "{'editorial': 1, 'anioPublicacion': 1, '_id': 1}"),
+    @CompoundIndex(name = "generos_anioPublicacion_id", def = "{'generos': 1, 'anioPublicacion': 1, '_id': 1}")
+})
 public class Comic {
     @Id
     private String id;
+    @TextIndexed
     private String titulo;
+    private String tituloNormalizado; // Título en minúsculas y sin tildes, para búsquedas por prefijo
     private int anioPublicacion;
     private String editorial;
     private String sinopsis;
     private List<String> generos;
     private String autorId; // Referencia al autor
-}
\ No newline at end of file
+    @Version
+    private Long version; // Se incrementa en cada escritura; de él sale el ETag del cómic
+}
@@ -3,10 +3,13 @@ package com.example.comics_api.repository;
 import com.example.comics_api.model.Autor;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface AutorRepository extends MongoRepository<Autor, String> {
     List<Autor> findByNombreContainingIgnoreCase(String nombre);
+    List<Autor> findByNombreNormalizadoStartingWith(String prefijo);
     List<Autor> findByNacionalidad(String nacionalidad);
+    List<AutorSummary> findByIdIn(Collection<String> ids);
 }
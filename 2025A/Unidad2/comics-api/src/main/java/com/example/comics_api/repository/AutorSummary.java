@@ -0,0 +1,10 @@
+package com.example.comics_api.repository;
+
+// Proyección de Autor sin la biografía, para embeber el autor en los cómics
+public interface AutorSummary {
+    String getId();
+    String getNombre();
+    String getApellido();
+    String getNacionalidad();
+    String getFechaNacimiento();
+}
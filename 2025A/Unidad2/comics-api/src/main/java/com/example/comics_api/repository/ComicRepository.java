@@ -8,6 +8,7 @@ import java.util.List;
 @Repository
 public interface ComicRepository extends MongoRepository<Comic, String> {
     List<Comic> findByTituloContainingIgnoreCase(String titulo);
+    List<Comic> findByTituloNormalizadoStartingWith(String prefijo);
     List<Comic> findByAutorId(String autorId);
     List<Comic> findByAnioPublicacion(int anioPublicacion);
     List<Comic> findByGeneros(String genero);
@@ -0,0 +1,14 @@
+package com.example.comics_api.repository;
+
+import com.example.comics_api.model.Autor;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import java.util.Collection;
+
+@Repository
+public interface ReactiveAutorRepository extends ReactiveMongoRepository<Autor, String> {
+    Flux<Autor> findByNombreNormalizadoStartingWith(String prefijo);
+    Flux<Autor> findByNacionalidad(String nacionalidad);
+    Flux<AutorSummary> findByIdIn(Collection<String> ids);
+}
@@ -0,0 +1,14 @@
+package com.example.comics_api.repository;
+
+import com.example.comics_api.model.Comic;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveComicRepository extends ReactiveMongoRepository<Comic, String> {
+    Flux<Comic> findByTituloNormalizadoStartingWith(String prefijo);
+    Flux<Comic> findByAutorId(String autorId);
+    Flux<Comic> findByAnioPublicacion(int anioPublicacion);
+    Flux<Comic> findByGeneros(String genero);
+}
@@ -0,0 +1,94 @@
+package com.example.comics_api.service;
+
+import com.example.comics_api.dto.AutorDTO;
+import com.example.comics_api.mapper.DtoMapper;
+import com.example.comics_api.repository.AutorRepository;
+import com.example.comics_api.repository.AutorSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// Caché de lectura (read-through) de autores por id, acotada por tamaño (LRU)
+// y por tiempo de vida. Los autores cambian poco y se leen en cada listado de
+// cómics, así que la mayoría de las lecturas no deberían llegar a Mongo.
+@Component
+public class AutorCache {
+
+    private final AutorRepository autorRepository;
+    private final DtoMapper dtoMapper;
+    private final BoundedCache<String, Cached> cache;
+
+    @Autowired
+    public AutorCache(AutorRepository autorRepository,
+                      DtoMapper dtoMapper,
+                      @Value("${comics.cache.autores.max-size:10000}") int maxSize,
+                      @Value("${comics.cache.autores.ttl:10m}") Duration ttl) {
+        this.autorRepository = autorRepository;
+        this.dtoMapper = dtoMapper;
+        this.cache = new BoundedCache<>(maxSize, ttl);
+    }
+
+    public Optional<AutorDTO> get(String id) {
+        AutorDTO cached = lookup(id, true);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long loadGeneration = cache.generation();
+        Optional<AutorDTO> loaded = autorRepository.findById(id).map(dtoMapper::toDTO);
+        loaded.ifPresent(autorDTO -> cache.put(autorDTO.id(), new Cached(autorDTO, true), loadGeneration));
+        return loaded;
+    }
+
+    // Resuelve varios autores a la vez para embeberlos en cómics: los que no
+    // están en caché se cargan con una sola consulta $in y sin la biografía,
+    // que puede faltar en los resultados.
+    public Map<String, AutorDTO> getAllSummaries(Collection<String> ids) {
+        Map<String, AutorDTO> result = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String id : ids) {
+            AutorDTO cached = lookup(id, false);
+            if (cached != null) {
+                result.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long loadGeneration = cache.generation();
+            for (AutorSummary autor : autorRepository.findByIdIn(missing)) {
+                AutorDTO autorDTO = dtoMapper.toDTO(autor);
+                cache.put(autorDTO.id(), new Cached(autorDTO, false), loadGeneration);
+                result.put(autorDTO.id(), autorDTO);
+            }
+        }
+        return result;
+    }
+
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public BoundedCache.Stats stats() {
+        return cache.stats();
+    }
+
+    // Una entrada cargada sin biografía no sirve cuando se pide el autor completo
+    private AutorDTO lookup(String id, boolean complete) {
+        Cached cached = cache.get(id, entry -> entry.complete || !complete);
+        return cached == null ? null : cached.value;
+    }
+
+    private record Cached(AutorDTO value, boolean complete) {
+    }
+}
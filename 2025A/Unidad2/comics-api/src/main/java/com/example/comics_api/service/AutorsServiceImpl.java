@@ -1,19 +1,35 @@
 package com.example.comics_api.service;
 
 import com.example.comics_api.dto.AutorDTO;
+import com.example.comics_api.dto.AutorPageDTO;
+import com.example.comics_api.dto.AutorPatchDTO;
 import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.mapper.DtoMapper;
 import com.example.comics_api.model.Autor;
 import com.example.comics_api.model.Comic;
 import com.example.comics_api.repository.AutorRepository;
 import com.example.comics_api.repository.ComicRepository;
 import com.example.comics_api.service.IAutorService;
+import com.example.comics_api.util.TextNormalizer;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+@Service
 public class AutorsServiceImpl implements IAutorService {
 
     @Autowired
@@ -22,6 +38,15 @@ public class AutorsServiceImpl implements IAutorService {
     @Autowired
     private ComicRepository comicRepository;
 
+    @Autowired
+    private AutorCache autorCache;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @Override
     public List<AutorDTO> findAllAutores() {
         List<Autor> autores = autorRepository.findAll();
@@ -32,23 +57,72 @@ public class AutorsServiceImpl implements IAutorService {
 
     @Override
     public Optional<AutorDTO> findAutorById(String id) {
-        return autorRepository.findById(id)
-                .map(this::convertToDTO);
+        return autorCache.get(id);
     }
 
     @Override
     public AutorDTO saveAutor(Autor autor) {
-        return convertToDTO(autorRepository.save(autor));
+        if (autor.getId() == null) {
+            // Con versión, save intentaría actualizar en vez de insertar
+            autor.setVersion(null);
+        }
+        Autor savedAutor = autorRepository.save(autor);
+        autorCache.invalidate(savedAutor.getId());
+        return convertToDTO(savedAutor);
     }
 
+    // Reemplaza los datos del autor con $set/$unset en una sola operación que
+    // comprueba e incrementa la versión. comicsIds no se toca: solo se
+    // mantiene al guardar o borrar cómics.
     @Override
-    public void deleteAutor(String id) {
-        autorRepository.deleteById(id);
+    public Optional<AutorDTO> updateAutor(String id, Autor autor, Long expectedVersion) {
+        Update update = VersionedUpdates.update();
+        VersionedUpdates.setOrUnset(update, "nombre", autor.getNombre());
+        VersionedUpdates.setOrUnset(update, "nombreNormalizado", TextNormalizer.normalize(autor.getNombre()));
+        VersionedUpdates.setOrUnset(update, "apellido", autor.getApellido());
+        VersionedUpdates.setOrUnset(update, "nacionalidad", autor.getNacionalidad());
+        VersionedUpdates.setOrUnset(update, "fechaNacimiento", autor.getFechaNacimiento());
+        VersionedUpdates.setOrUnset(update, "biografia", autor.getBiografia());
+        return modifyAutor(id, update, expectedVersion);
+    }
+
+    // Solo escribe los campos presentes en el PATCH
+    @Override
+    public Optional<AutorDTO> patchAutor(String id, AutorPatchDTO patch, Long expectedVersion) {
+        Update update = VersionedUpdates.update();
+        VersionedUpdates.setIfPresent(update, "nombre", patch.nombre());
+        VersionedUpdates.setIfPresent(update, "nombreNormalizado", TextNormalizer.normalize(patch.nombre()));
+        VersionedUpdates.setIfPresent(update, "apellido", patch.apellido());
+        VersionedUpdates.setIfPresent(update, "nacionalidad", patch.nacionalidad());
+        VersionedUpdates.setIfPresent(update, "fechaNacimiento", patch.fechaNacimiento());
+        VersionedUpdates.setIfPresent(update, "biografia", patch.biografia());
+        return modifyAutor(id, update, expectedVersion);
+    }
+
+    private Optional<AutorDTO> modifyAutor(String id, Update update, Long expectedVersion) {
+        Query query = VersionedUpdates.byId(id, expectedVersion);
+        query.fields().exclude("comicsIds");
+        Autor autor = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Autor.class);
+        autorCache.invalidate(id);
+        if (autor == null) {
+            VersionedUpdates.checkConflict(mongoTemplate, id, expectedVersion, Autor.class);
+            return Optional.empty();
+        }
+        return Optional.of(convertToDTO(autor));
+    }
+
+    @Override
+    public boolean deleteAutor(String id) {
+        boolean deleted = mongoTemplate.remove(new Query(Criteria.where("_id").is(id)), Autor.class)
+                .getDeletedCount() > 0;
+        autorCache.invalidate(id);
+        return deleted;
     }
 
     @Override
     public List<AutorDTO> findAutoresByNombre(String nombre) {
-        List<Autor> autores = autorRepository.findByNombreContainingIgnoreCase(nombre);
+        List<Autor> autores = autorRepository.findByNombreNormalizadoStartingWith(TextNormalizer.normalize(nombre));
         return autores.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
@@ -62,39 +136,78 @@ public class AutorsServiceImpl implements IAutorService {
                 .collect(Collectors.toList());
     }
 
-    private AutorDTO convertToDTO(Autor autor) {
-        AutorDTO autorDTO = new AutorDTO();
-        autorDTO.setId(autor.getId());
-        autorDTO.setNombre(autor.getNombre());
-        autorDTO.setApellido(autor.getApellido());
-        autorDTO.setNacionalidad(autor.getNacionalidad());
-        autorDTO.setFechaNacimiento(autor.getFechaNacimiento());
-        autorDTO.setBiografia(autor.getBiografia());
-        
-        // Obtener los cómics asociados al autor
-        /*
-        List<ComicDTO> comics = new ArrayList<>();
-        if (autor.getComicsIds() != null) {
-            comics = autor.getComicsIds().stream()
-                    .map(comicId -> comicRepository.findById(comicId))
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .map(comic -> {
-                        ComicDTO comicDTO = new ComicDTO();
-                        comicDTO.setId(comic.getId());
-                        comicDTO.setTitulo(comic.getTitulo());
-                        comicDTO.setAnioPublicacion(comic.getAnioPublicacion());
-                        comicDTO.setEditorial(comic.getEditorial());
-                        comicDTO.setSinopsis(comic.getSinopsis());
-                        comicDTO.setGeneros(comic.getGeneros());
-                        return comicDTO;
-                    })
-                    .collect(Collectors.toList());
+    // Autor con sus cómics en un solo viaje a Mongo, sea cual sea su número:
+    // $match por _id, $lookup de sus cómics (usa el índice de autorId) y
+    // $project para quitar los campos internos.
+    @Override
+    public Optional<AutorDTO> findAutorWithComics(String id) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("_id").is(toId(id))),
+                lookupComics(
+                        new Document("$sort", new Document("anioPublicacion", 1).append("_id", 1)),
+                        new Document("$project", new Document("autorId", 0).append("tituloNormalizado", 0))),
+                Aggregation.project().andExclude("nombreNormalizado", "comicsIds"));
+        Document result = mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(Autor.class), Document.class)
+                .getUniqueMappedResult();
+        if (result == null) {
+            return Optional.empty();
+        }
+        MongoConverter converter = mongoTemplate.getConverter();
+        List<ComicDTO> comics = result.getList("comics", Document.class).stream()
+                .map(comic -> dtoMapper.toDTO(converter.read(Comic.class, comic), null))
+                .collect(Collectors.toList());
+        return Optional.of(dtoMapper.toDTO(converter.read(Autor.class, result), comics, comics.size()));
+    }
+
+    // Como los listados de cómics: se piden size + 1 autores para saber si
+    // hay otra página. El $lookup solo trae los _id de los cómics para contarlos.
+    @Override
+    public AutorPageDTO findAutores(String cursor, int size) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        if (cursor != null) {
+            stages.add(Aggregation.match(Criteria.where("_id").gt(toId(cursor))));
+        }
+        stages.add(Aggregation.sort(Sort.Direction.ASC, "_id"));
+        stages.add(Aggregation.limit(size + 1));
+        stages.add(lookupComics(new Document("$project", new Document("_id", 1))));
+        stages.add(Aggregation.project("nombre", "apellido", "nacionalidad", "fechaNacimiento")
+                .and("comics").size().as("numComics"));
+
+        List<Document> results = mongoTemplate.aggregate(Aggregation.newAggregation(stages),
+                mongoTemplate.getCollectionName(Autor.class), Document.class).getMappedResults();
+        String nextCursor = null;
+        if (results.size() > size) {
+            results = results.subList(0, size);
+            nextCursor = results.get(size - 1).getObjectId("_id").toHexString();
         }
-        autorDTO.setComics(comics);
-        */
-        
-        return autorDTO;
+        MongoConverter converter = mongoTemplate.getConverter();
+        List<AutorDTO> autores = results.stream()
+                .map(doc -> dtoMapper.toDTO(converter.read(Autor.class, doc), null, doc.getInteger("numComics")))
+                .collect(Collectors.toList());
+        return new AutorPageDTO(autores, nextCursor);
+    }
+
+    // Comic.autorId se guarda como texto y el _id del autor es un ObjectId, así
+    // que el $lookup compara con $expr tras convertirlo (MongoDB 5.0+ usa el
+    // índice de autorId para esta igualdad).
+    private AggregationOperation lookupComics(Document... pipeline) {
+        List<Document> stages = new ArrayList<>();
+        stages.add(new Document("$match", new Document("$expr",
+                new Document("$eq", List.of("$autorId", "$$autorId")))));
+        stages.addAll(List.of(pipeline));
+        Document lookup = new Document("from", mongoTemplate.getCollectionName(Comic.class))
+                .append("let", new Document("autorId", new Document("$toString", "$_id")))
+                .append("pipeline", stages)
+                .append("as", "comics");
+        return context -> new Document("$lookup", lookup);
+    }
+
+    private static Object toId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    private AutorDTO convertToDTO(Autor autor) {
+        return dtoMapper.toDTO(autor);
     }
 
 }
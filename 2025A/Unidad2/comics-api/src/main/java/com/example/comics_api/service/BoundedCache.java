@@ -0,0 +1,105 @@
+package com.example.comics_api.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+// Mapa en memoria acotado por tamaño (LRU) y por tiempo de vida, con métricas
+// de aciertos, fallos y desalojos. Es la base de AutorCache y FacetCache, que
+// deciden qué se guarda y cuándo se invalida.
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Se incrementa en cada invalidación; un valor que se empezó a cargar antes
+    // de una invalidación no vuelve a entrar en caché ya obsoleto.
+    private long generation;
+
+    BoundedCache(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // null si no está, ha caducado o no sirve para esta lectura
+    V get(K key, Predicate<V> usable) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && usable.test(entry.value)) {
+                if (System.nanoTime() - entry.loadedAt < ttlNanos) {
+                    hits.increment();
+                    return entry.value;
+                }
+                entries.remove(key);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    V get(K key) {
+        return get(key, value -> true);
+    }
+
+    // Se llama antes de cargar un valor que luego se pasa a put()
+    long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    void put(K key, V value, long loadGeneration) {
+        synchronized (entries) {
+            if (loadGeneration == generation) {
+                entries.put(key, new Entry<>(value, System.nanoTime()));
+            }
+        }
+    }
+
+    void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+            generation++;
+        }
+    }
+
+    void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            generation++;
+        }
+    }
+
+    Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(size, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+
+    public record Stats(int size, long hits, long misses, long evictions) {
+    }
+}
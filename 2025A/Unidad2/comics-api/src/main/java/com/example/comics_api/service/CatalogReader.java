@@ -0,0 +1,97 @@
+package com.example.comics_api.service;
+
+import com.example.comics_api.model.Autor;
+import com.example.comics_api.model.Comic;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+// Lee en streaming un catálogo con el formato de ComicsLibraryData.json (uno o
+// varios arrays de autores y cómics, con comentarios //) y devuelve sus
+// elementos de uno en uno: en memoria solo está el que se acaba de leer.
+// offset() es la posición en bytes justo después de ese elemento, desde la
+// que resume() puede continuar la lectura más adelante.
+public class CatalogReader implements Closeable {
+
+    public sealed interface Entry permits AutorEntry, ComicEntry {
+    }
+
+    // El nombre artístico viene en el fichero pero no se guarda en Autor
+    public record AutorEntry(Autor autor, String nombreArtistico) implements Entry {
+    }
+
+    public record ComicEntry(Comic comic) implements Entry {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private final long baseOffset;
+    private boolean inArray;
+
+    public CatalogReader(ObjectMapper objectMapper, InputStream in) throws IOException {
+        this(objectMapper, in, 0);
+    }
+
+    private CatalogReader(ObjectMapper objectMapper, InputStream in, long baseOffset) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(in);
+        this.parser.enable(JsonParser.Feature.ALLOW_COMMENTS);
+        this.baseOffset = baseOffset;
+    }
+
+    // Continúa en una posición devuelta antes por offset() sobre el mismo
+    // contenido; in empieza al principio y se salta hasta offset. Esa posición
+    // cae dentro de un array, así que se antepone un "[" y se admite la coma
+    // que separa el último elemento leído del siguiente.
+    public static CatalogReader resume(ObjectMapper objectMapper, InputStream in, long offset) throws IOException {
+        in.skipNBytes(offset);
+        InputStream rest = new SequenceInputStream(new ByteArrayInputStream(new byte[] {'['}), in);
+        CatalogReader reader = new CatalogReader(objectMapper, rest, offset - 1);
+        reader.parser.enable(JsonReadFeature.ALLOW_MISSING_VALUES.mappedFeature());
+        return reader;
+    }
+
+    // Siguiente autor o cómic, o null al final del contenido
+    public Entry next() throws IOException {
+        while (true) {
+            JsonToken token = parser.nextToken();
+            if (!inArray) {
+                if (token == null) {
+                    return null;
+                }
+                if (token != JsonToken.START_ARRAY) {
+                    throw new JsonParseException(parser, "Se esperaba un array de autores o de cómics");
+                }
+                inArray = true;
+            } else if (token == JsonToken.END_ARRAY) {
+                inArray = false;
+            } else if (token == JsonToken.START_OBJECT) {
+                ObjectNode node = parser.readValueAsTree();
+                if (node.has("titulo")) {
+                    return new ComicEntry(objectMapper.treeToValue(node, Comic.class));
+                }
+                return new AutorEntry(objectMapper.treeToValue(node, Autor.class),
+                        node.path("nombreArtistico").asText(null));
+            } else if (token != JsonToken.VALUE_NULL) {
+                throw new JsonParseException(parser, "Se esperaba un autor o un cómic");
+            }
+        }
+    }
+
+    public long offset() {
+        return baseOffset + parser.currentLocation().getByteOffset();
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
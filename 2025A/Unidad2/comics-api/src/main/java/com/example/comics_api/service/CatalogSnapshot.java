@@ -0,0 +1,458 @@
+package com.example.comics_api.service;
+
+import com.example.comics_api.dto.AnioBucketDTO;
+import com.example.comics_api.dto.AutorDTO;
+import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.dto.FacetCountDTO;
+import com.example.comics_api.dto.FacetasDTO;
+import com.example.comics_api.mapper.DtoMapper;
+import com.example.comics_api.model.Autor;
+import com.example.comics_api.model.Comic;
+import com.example.comics_api.util.TextNormalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+// Copia inmutable del catálogo para ComicReplica: los cómics ya convertidos a
+// DTO (con y sin sinopsis) e índices por _id, autor, año, género y título.
+// Las listas de los índices están ordenadas por _id, como los listados
+// paginados de Mongo. ComicReplica deriva una nueva de la anterior con cada
+// lote de cambios (update) y la publica de una vez, así que quien la lee nunca
+// ve un estado a medias ni necesita sincronizarse.
+final class CatalogSnapshot {
+
+    // Un cómic con sus valores de orden y sus dos vistas ya convertidas
+    record Entry(String id, int anio, String titulo, Comic comic, ComicDTO full, ComicDTO summary) {
+
+        ComicDTO view(ComicView view) {
+            return view == ComicView.SUMMARY ? summary : full;
+        }
+
+        Object value(ComicSort sort) {
+            switch (sort) {
+                case ANIO:
+                    return anio;
+                case TITULO:
+                    return titulo;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    // Como en Mongo, los nulos van antes que cualquier valor
+    @SuppressWarnings("unchecked")
+    private static final Comparator<Object> VALUES =
+            Comparator.nullsFirst((a, b) -> ((Comparable<Object>) a).compareTo(b));
+
+    private final List<Entry> comics;
+    private final Map<String, Entry> ids;
+    private final Map<String, List<Entry>> byAutorId;
+    private final NavigableMap<Integer, List<Entry>> byAnio;
+    private final Map<String, List<Entry>> byGenero;
+    private final List<Entry> byTitulo; // por (título normalizado, _id)
+    private final List<Entry> byAnioOrder; // por (año, _id)
+    private final Map<String, AutorDTO> embebidos; // autores por id, tal como se embeben
+
+    // comics por _id y byTitulo por (título normalizado, _id), ya ordenadas
+    private CatalogSnapshot(List<Entry> comics, List<Entry> byTitulo, Map<String, AutorDTO> embebidos) {
+        this.comics = Collections.unmodifiableList(comics);
+        this.byTitulo = Collections.unmodifiableList(byTitulo);
+        this.embebidos = Collections.unmodifiableMap(embebidos);
+        this.ids = new HashMap<>(comics.size() * 4 / 3 + 1);
+        Map<String, List<Entry>> autorIndex = new HashMap<>();
+        TreeMap<Integer, List<Entry>> anioIndex = new TreeMap<>();
+        Map<String, List<Entry>> generoIndex = new HashMap<>();
+        for (Entry entry : comics) {
+            ids.put(entry.id(), entry);
+            if (entry.comic().getAutorId() != null) {
+                autorIndex.computeIfAbsent(entry.comic().getAutorId(), key -> new ArrayList<>()).add(entry);
+            }
+            anioIndex.computeIfAbsent(entry.anio(), key -> new ArrayList<>()).add(entry);
+            if (entry.comic().getGeneros() != null) {
+                for (String genero : new HashSet<>(entry.comic().getGeneros())) {
+                    if (genero != null) {
+                        generoIndex.computeIfAbsent(genero, key -> new ArrayList<>()).add(entry);
+                    }
+                }
+            }
+        }
+        this.byAutorId = Collections.unmodifiableMap(unmodifiable(autorIndex));
+        this.byAnio = Collections.unmodifiableNavigableMap(unmodifiable(anioIndex));
+        this.byGenero = Collections.unmodifiableMap(unmodifiable(generoIndex));
+        this.byAnioOrder = byAnio.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    // Convierte una vez cada cómic con su autor embebido; los cómics de un
+    // mismo autor comparten la instancia de AutorDTO, como en ComicServiceImpl.
+    static CatalogSnapshot build(Collection<Comic> comics, Collection<Autor> autores, DtoMapper dtoMapper) {
+        Map<String, AutorDTO> embebidos = new HashMap<>();
+        for (Autor autor : autores) {
+            embebidos.put(autor.getId(), embed(autor, dtoMapper));
+        }
+        List<Entry> entries = new ArrayList<>(comics.size());
+        for (Comic comic : comics) {
+            entries.add(entry(comic, embebidos, dtoMapper));
+        }
+        entries.sort(order(ComicSort.ID));
+        List<Entry> porTitulo = new ArrayList<>(entries);
+        porTitulo.sort(order(ComicSort.TITULO));
+        return new CatalogSnapshot(entries, porTitulo, embebidos);
+    }
+
+    // Un snapshot nuevo con los cambios aplicados (por id; null si se ha
+    // borrado), sin modificar este. Solo se convierten los cómics cambiados y
+    // los de los autores cambiados; las demás entradas se reutilizan y las
+    // listas ordenadas se mezclan con las nuevas en lugar de reordenarse, así
+    // que el resto del catálogo cuesta una pasada lineal sin conversiones.
+    CatalogSnapshot update(Map<String, Comic> comicsCambiados, Map<String, Autor> autoresCambiados,
+                           DtoMapper dtoMapper) {
+        Map<String, AutorDTO> nuevosEmbebidos = embebidos;
+        Map<String, Comic> afectados = new HashMap<>(comicsCambiados);
+        if (!autoresCambiados.isEmpty()) {
+            nuevosEmbebidos = new HashMap<>(embebidos);
+            for (Map.Entry<String, Autor> cambio : autoresCambiados.entrySet()) {
+                if (cambio.getValue() == null) {
+                    nuevosEmbebidos.remove(cambio.getKey());
+                } else {
+                    nuevosEmbebidos.put(cambio.getKey(), embed(cambio.getValue(), dtoMapper));
+                }
+                // Sus cómics embeben el autor: se vuelven a convertir, salvo
+                // los que ya vienen en el lote (putIfAbsent pisaría los borrados)
+                for (Entry entry : byAutorId(cambio.getKey())) {
+                    if (!afectados.containsKey(entry.id())) {
+                        afectados.put(entry.id(), entry.comic());
+                    }
+                }
+            }
+        }
+        Set<Entry> quitadas = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Entry> nuevas = new ArrayList<>();
+        for (Map.Entry<String, Comic> cambio : afectados.entrySet()) {
+            Entry anterior = ids.get(cambio.getKey());
+            if (anterior != null) {
+                quitadas.add(anterior);
+            }
+            if (cambio.getValue() != null) {
+                nuevas.add(entry(cambio.getValue(), nuevosEmbebidos, dtoMapper));
+            }
+        }
+        nuevas.sort(order(ComicSort.ID));
+        List<Entry> porId = merge(comics, quitadas, nuevas, order(ComicSort.ID));
+        nuevas.sort(order(ComicSort.TITULO));
+        List<Entry> porTitulo = merge(byTitulo, quitadas, nuevas, order(ComicSort.TITULO));
+        return new CatalogSnapshot(porId, porTitulo, nuevosEmbebidos);
+    }
+
+    int size() {
+        return comics.size();
+    }
+
+    int autores() {
+        return embebidos.size();
+    }
+
+    // Todos los cómics, por _id
+    List<Entry> all() {
+        return comics;
+    }
+
+    Entry get(String id) {
+        return ids.get(id);
+    }
+
+    List<Entry> byAutorId(String autorId) {
+        return byAutorId.getOrDefault(autorId, List.of());
+    }
+
+    List<Entry> byAnio(int anio) {
+        return byAnio.getOrDefault(anio, List.of());
+    }
+
+    List<Entry> byGenero(String genero) {
+        return byGenero.getOrDefault(genero, List.of());
+    }
+
+    // Cómics cuyo título normalizado empieza por el del parámetro, por _id
+    List<Entry> byTitulo(String titulo) {
+        return sortById(titulosConPrefijo(TextNormalizer.normalize(titulo)));
+    }
+
+    // Cómics que cumplen el filtro, por _id
+    List<Entry> matching(ComicFilter filter) {
+        List<Entry> candidates = candidates(filter);
+        if (candidates == null) {
+            candidates = comics;
+        }
+        List<Entry> result = candidates.stream().filter(matches(filter)).collect(Collectors.toList());
+        return candidates == comics ? result : sortById(result);
+    }
+
+    // Hasta limit cómics que cumplen el filtro en el orden pedido, empezando
+    // justo después de la posición after (null: desde el principio). Si algún
+    // índice acota el filtro se ordenan solo sus cómics; si no, se recorre el
+    // catálogo ya ordenado desde la posición, como haría Mongo con un índice.
+    List<Entry> search(ComicFilter filter, ComicSort sort, boolean asc, ComicQueries.Position after, int limit) {
+        Predicate<Entry> matches = matches(filter);
+        List<Entry> ordered = candidates(filter);
+        if (ordered == null) {
+            ordered = sorted(sort);
+        } else {
+            ordered = ordered.stream().filter(matches).sorted(order(sort)).collect(Collectors.toList());
+        }
+
+        List<Entry> page = new ArrayList<>(Math.min(limit, ordered.size()));
+        if (asc) {
+            for (int i = after == null ? 0 : indexAfter(ordered, sort, after, false);
+                 i < ordered.size() && page.size() < limit; i++) {
+                if (matches.test(ordered.get(i))) {
+                    page.add(ordered.get(i));
+                }
+            }
+        } else {
+            for (int i = (after == null ? ordered.size() : indexAfter(ordered, sort, after, true)) - 1;
+                 i >= 0 && page.size() < limit; i--) {
+                if (matches.test(ordered.get(i))) {
+                    page.add(ordered.get(i));
+                }
+            }
+        }
+        return page;
+    }
+
+    // Los mismos recuentos que la agregación de ComicQueries.facets()
+    static FacetasDTO facetas(List<Entry> entries) {
+        Map<String, Long> generos = new HashMap<>();
+        Map<String, Long> editoriales = new HashMap<>();
+        TreeMap<Integer, Long> decadas = new TreeMap<>();
+        for (Entry entry : entries) {
+            if (entry.comic().getGeneros() != null) {
+                for (String genero : entry.comic().getGeneros()) {
+                    if (genero != null) {
+                        generos.merge(genero, 1L, Long::sum);
+                    }
+                }
+            }
+            if (entry.comic().getEditorial() != null) {
+                editoriales.merge(entry.comic().getEditorial(), 1L, Long::sum);
+            }
+            decadas.merge(entry.anio() - entry.anio() % ComicQueries.DECADE, 1L, Long::sum);
+        }
+        List<AnioBucketDTO> anios = decadas.entrySet().stream()
+                .map(decada -> new AnioBucketDTO(decada.getKey(), decada.getKey() + ComicQueries.DECADE - 1,
+                        decada.getValue()))
+                .collect(Collectors.toList());
+        return new FacetasDTO(entries.size(), counts(generos), anios, counts(editoriales));
+    }
+
+    // Índice de los cómics de la lista, por _id, que siguen al cursor
+    static int indexAfter(List<Entry> byId, String cursor) {
+        int low = 0;
+        int high = byId.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (byId.get(mid).id().compareTo(cursor) > 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    // Orden ascendente de una búsqueda: el del campo y, a igualdad, el _id
+    static Comparator<Entry> order(ComicSort sort) {
+        if (sort == ComicSort.ID) {
+            return Comparator.comparing(Entry::id);
+        }
+        return (a, b) -> {
+            int byValue = VALUES.compare(a.value(sort), b.value(sort));
+            return byValue != 0 ? byValue : a.id().compareTo(b.id());
+        };
+    }
+
+    // Catálogo completo en orden ascendente del campo
+    private List<Entry> sorted(ComicSort sort) {
+        switch (sort) {
+            case ANIO:
+                return byAnioOrder;
+            case TITULO:
+                return byTitulo;
+            default:
+                return comics;
+        }
+    }
+
+    // Primer índice cuyo cómic va después de la posición (o en ella, con inclusive)
+    private static int indexAfter(List<Entry> ordered, ComicSort sort, ComicQueries.Position position,
+                                  boolean inclusive) {
+        String id = position.id().toHexString();
+        int low = 0;
+        int high = ordered.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Entry entry = ordered.get(mid);
+            int compare = VALUES.compare(entry.value(sort), position.value());
+            if (compare == 0) {
+                compare = entry.id().compareTo(id);
+            }
+            if (compare > 0 || inclusive && compare == 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    // Los cómics del índice más selectivo que el filtro puede usar (sin
+    // garantizar que cumplan el resto de condiciones), o null si ninguno
+    private List<Entry> candidates(ComicFilter filter) {
+        List<Entry> best = null;
+        if (filter.autorId() != null) {
+            best = shortest(best, byAutorId(filter.autorId()));
+        }
+        if (filter.generoMatch() == GenreMatch.ALL) {
+            for (String genero : filter.generos()) {
+                best = shortest(best, byGenero(genero));
+            }
+        }
+        if (filter.titulo() != null) {
+            best = shortest(best, titulosConPrefijo(TextNormalizer.normalize(filter.titulo())));
+        }
+        if (best == null && filter.generoMatch() == GenreMatch.ANY && !filter.generos().isEmpty()) {
+            Set<Entry> union = Collections.newSetFromMap(new IdentityHashMap<>());
+            filter.generos().forEach(genero -> union.addAll(byGenero(genero)));
+            best = new ArrayList<>(union);
+        }
+        if (best == null && (filter.anioDesde() != null || filter.anioHasta() != null)) {
+            best = byAnio.subMap(filter.anioDesde() == null ? Integer.MIN_VALUE : filter.anioDesde(), true,
+                            filter.anioHasta() == null ? Integer.MAX_VALUE : filter.anioHasta(), true)
+                    .values().stream()
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList());
+        }
+        return best;
+    }
+
+    // Las mismas condiciones que ComicQueries.filter()
+    private static Predicate<Entry> matches(ComicFilter filter) {
+        String titulo = TextNormalizer.normalize(filter.titulo());
+        return entry -> {
+            Comic comic = entry.comic();
+            if (titulo != null && (entry.titulo() == null || !entry.titulo().startsWith(titulo))) {
+                return false;
+            }
+            if (filter.autorId() != null && !filter.autorId().equals(comic.getAutorId())) {
+                return false;
+            }
+            if (!filter.generos().isEmpty()) {
+                List<String> generos = comic.getGeneros() == null ? List.of() : comic.getGeneros();
+                boolean match = filter.generoMatch() == GenreMatch.ANY
+                        ? filter.generos().stream().anyMatch(generos::contains)
+                        : generos.containsAll(filter.generos());
+                if (!match) {
+                    return false;
+                }
+            }
+            if (filter.anioDesde() != null && entry.anio() < filter.anioDesde()
+                    || filter.anioHasta() != null && entry.anio() > filter.anioHasta()) {
+                return false;
+            }
+            return filter.editorial() == null || filter.editorial().equals(comic.getEditorial());
+        };
+    }
+
+    // Rango de byTitulo con el prefijo, en orden de título
+    private List<Entry> titulosConPrefijo(String prefijo) {
+        int from = firstTitulo(prefijo);
+        int to = from;
+        while (to < byTitulo.size() && byTitulo.get(to).titulo().startsWith(prefijo)) {
+            to++;
+        }
+        return byTitulo.subList(from, to);
+    }
+
+    private int firstTitulo(String prefijo) {
+        int low = 0;
+        int high = byTitulo.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (VALUES.compare(byTitulo.get(mid).titulo(), prefijo) >= 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static AutorDTO embed(Autor autor, DtoMapper dtoMapper) {
+        return dtoMapper.toEmbeddedDTO(dtoMapper.toDTO(autor));
+    }
+
+    // Convierte el cómic con su autor embebido, en sus dos vistas
+    private static Entry entry(Comic comic, Map<String, AutorDTO> embebidos, DtoMapper dtoMapper) {
+        ComicDTO full = dtoMapper.toDTO(comic, embebidos.get(comic.getAutorId()));
+        ComicDTO summary = full.sinopsis() == null ? full : new ComicDTO(full.id(), full.titulo(),
+                full.anioPublicacion(), full.editorial(), null, full.generos(), full.autor(), full.version());
+        return new Entry(comic.getId(), comic.getAnioPublicacion(),
+                TextNormalizer.normalize(comic.getTitulo()), comic, full, summary);
+    }
+
+    // base sin las entradas quitadas, con las nuevas intercaladas; las dos
+    // listas vienen en el orden indicado
+    private static List<Entry> merge(List<Entry> base, Set<Entry> quitadas, List<Entry> nuevas,
+                                     Comparator<Entry> order) {
+        List<Entry> merged = new ArrayList<>(base.size() + nuevas.size());
+        int next = 0;
+        for (Entry entry : base) {
+            if (quitadas.contains(entry)) {
+                continue;
+            }
+            while (next < nuevas.size() && order.compare(nuevas.get(next), entry) < 0) {
+                merged.add(nuevas.get(next++));
+            }
+            merged.add(entry);
+        }
+        merged.addAll(nuevas.subList(next, nuevas.size()));
+        return merged;
+    }
+
+    private static List<Entry> shortest(List<Entry> best, List<Entry> candidate) {
+        return best == null || candidate.size() < best.size() ? candidate : best;
+    }
+
+    private static List<Entry> sortById(List<Entry> entries) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(order(ComicSort.ID));
+        return sorted;
+    }
+
+    // De más a menos cómics; los empates, por valor
+    private static List<FacetCountDTO> counts(Map<String, Long> totals) {
+        return totals.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(total -> new FacetCountDTO(total.getKey(), total.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    private static <K, M extends Map<K, List<Entry>>> M unmodifiable(M index) {
+        index.replaceAll((key, entries) -> Collections.unmodifiableList(entries));
+        return index;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.comics_api.service;
+
+import java.util.List;
+import java.util.Objects;
+
+// Combinación de filtros sobre el catálogo. Es la clave de FacetCache, así que
+// los géneros se guardan ordenados y sin repetir: el mismo conjunto de
+// filtros da siempre la misma clave sea cual sea el orden de los parámetros.
+// Los campos nulos no filtran.
+public record ComicFilter(
+        String titulo,          // prefijo, sin distinguir mayúsculas ni tildes
+        String autorId,
+        List<String> generos,
+        GenreMatch generoMatch, // todos los géneros (por defecto) o alguno
+        Integer anioDesde,      // años incluidos
+        Integer anioHasta,
+        String editorial) {
+
+    public ComicFilter {
+        generos = generos == null ? List.of() : generos.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+        if (generoMatch == null) {
+            generoMatch = GenreMatch.ALL;
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package com.example.comics_api.service;
+
+import com.example.comics_api.dto.ImportReportDTO;
+import com.example.comics_api.model.Autor;
+import com.example.comics_api.model.Comic;
+import com.example.comics_api.util.TextNormalizer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Importación masiva en el formato de ComicsLibraryData.json. CatalogReader
+// lee el fichero en streaming y los documentos se escriben con inserciones
+// bulk no ordenadas por lotes en un hilo aparte; como mucho hay
+// comics.import.max-in-flight lotes leídos sin escribir, así que la memoria no
+// depende del tamaño del fichero y la lectura espera si Mongo va más lento.
+// Cada cómic referencia a su autor por id o por nombre ("[ID_DE_ALAN_MOORE]",
+// "Alan Moore", "Moebius"), y el autor tiene que aparecer en el fichero antes
+// que sus cómics o existir ya en Mongo.
+@Service
+public class ComicImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ComicImportService.class);
+
+    // Cada cuántos documentos insertados se informa del avance
+    private static final long PROGRESS_INTERVAL = 100_000;
+
+    private static final String PLACEHOLDER_PREFIX = "[ID_DE_";
+
+    // Código de error de Mongo para un _id (o clave única) repetido
+    private static final int DUPLICATE_KEY = 11000;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FacetCache facetCache;
+
+    @Autowired
+    private AutorCache autorCache;
+
+    @Value("${comics.import.batch-size:1000}")
+    private int defaultBatchSize;
+
+    @Value("${comics.import.max-in-flight:2}")
+    private int maxInFlight;
+
+    public ImportReportDTO importCatalog(InputStream in) throws IOException {
+        return importCatalog(in, defaultBatchSize);
+    }
+
+    public ImportReportDTO importCatalog(InputStream in, int batchSize) throws IOException {
+        return run(new CatalogReader(objectMapper, in), new ImportRun(batchSize, null, newIdBase(), false, Map.of()));
+    }
+
+    // Importa un fichero guardando tras cada lote escrito la posición alcanzada
+    // en <fichero>.checkpoint. Si la importación se interrumpe, la siguiente
+    // sobre el mismo fichero continúa desde ahí; el checkpoint se borra al terminar.
+    // El primer checkpoint se guarda antes de escribir nada, con la base de los
+    // ids de los cómics: al reanudar, un lote que llegó a insertarse pero no al
+    // checkpoint se repite con los mismos ids y Mongo no lo duplica.
+    public ImportReportDTO importFile(Path file) throws IOException {
+        Path checkpointFile = file.resolveSibling(file.getFileName() + ".checkpoint");
+        Checkpoint checkpoint;
+        boolean resumed = Files.exists(checkpointFile);
+        if (resumed) {
+            checkpoint = objectMapper.readValue(checkpointFile.toFile(), Checkpoint.class);
+            log.info("Reanudando la importación de {} desde el byte {}", file, checkpoint.offset());
+        } else {
+            checkpoint = new Checkpoint(0, Map.of(), newIdBase());
+            writeCheckpoint(checkpointFile, checkpoint);
+        }
+        ImportReportDTO report;
+        try (InputStream in = Files.newInputStream(file)) {
+            CatalogReader reader = checkpoint.offset() == 0
+                    ? new CatalogReader(objectMapper, in)
+                    : CatalogReader.resume(objectMapper, in, checkpoint.offset());
+            report = run(reader, new ImportRun(defaultBatchSize, checkpointFile, checkpoint.idBase(),
+                    resumed, checkpoint.autores()));
+        }
+        Files.deleteIfExists(checkpointFile);
+        return report;
+    }
+
+    private ImportReportDTO run(CatalogReader reader, ImportRun run) throws IOException {
+        try (reader; run) {
+            CatalogReader.Entry entry;
+            while ((entry = reader.next()) != null) {
+                if (entry instanceof CatalogReader.AutorEntry autor) {
+                    run.addAutor(autor, reader.offset());
+                } else if (entry instanceof CatalogReader.ComicEntry comic) {
+                    run.addComic(comic.comic(), reader.offset());
+                }
+            }
+            return run.finish();
+        }
+    }
+
+    private static String fullName(String nombre, String apellido) {
+        return TextNormalizer.normalize(Stream.of(nombre, apellido)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" ")));
+    }
+
+    // Los 7 primeros bytes de los ids de los cómics de una importación: el
+    // instante, como en un ObjectId, y 3 bytes aleatorios propios de la
+    // importación (los de new ObjectId() son los mismos en todo el proceso).
+    // Los 5 restantes son la posición del cómic en el fichero. Si ya hay
+    // cómics con esa base se elige otra.
+    private String newIdBase() {
+        while (true) {
+            byte[] random = new byte[3];
+            RANDOM.nextBytes(random);
+            String idBase = String.format("%08x", System.currentTimeMillis() / 1000) + HexFormat.of().formatHex(random);
+            Query query = new Query(Criteria.where("_id")
+                    .gte(new ObjectId(idBase + "0000000000"))
+                    .lte(new ObjectId(idBase + "ffffffffff")));
+            if (!mongoTemplate.exists(query, Comic.class)) {
+                return idBase;
+            }
+        }
+    }
+
+    // Se escribe en un fichero temporal y se renombra para no dejar nunca
+    // un checkpoint a medias
+    private void writeCheckpoint(Path checkpointFile, Checkpoint checkpoint) {
+        Path tmp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try {
+            objectMapper.writeValue(tmp.toFile(), checkpoint);
+            Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // "[ID_DE_FRANCISCO_IBAÑEZ]" -> "francisco ibanez"
+    private static String referencedName(String ref) {
+        String nombre = ref.trim();
+        if (nombre.startsWith(PLACEHOLDER_PREFIX) && nombre.endsWith("]")) {
+            nombre = nombre.substring(PLACEHOLDER_PREFIX.length(), nombre.length() - 1).replace('_', ' ');
+        }
+        return TextNormalizer.normalize(nombre);
+    }
+
+    // Posición del fichero hasta la que todo está escrito (0: nada todavía),
+    // los autores resueltos hasta entonces, que los cómics posteriores pueden
+    // referenciar, y la base de los ids de los cómics (ver newIdBase)
+    private record Checkpoint(long offset, Map<String, String> autores, String idBase) {
+    }
+
+    // Estado de una importación: lotes pendientes, autores resueltos y contadores
+    private class ImportRun implements AutoCloseable {
+
+        private final int batchSize;
+        private final Path checkpointFile;
+        private final String idBase;
+        // Al reanudar, el primer lote puede estar ya insertado: sus _id repetidos no son errores
+        private final boolean resumed;
+        private final long start = System.nanoTime();
+
+        // Nombre normalizado (completo o artístico) -> id; "" si no hay tal autor.
+        // Lo amplía el hilo lector y lo guarda en el checkpoint el escritor.
+        private final Map<String, String> autorIds = new ConcurrentHashMap<>();
+
+        private List<CatalogReader.AutorEntry> autores = new ArrayList<>();
+        private List<Comic> comics = new ArrayList<>();
+        private long batchEndOffset;
+
+        // Un solo hilo escritor mantiene los lotes en el orden del fichero, de
+        // modo que el checkpoint de un lote cubre también todos los anteriores
+        private final ExecutorService writer = Executors.newSingleThreadExecutor(
+                task -> new Thread(task, "comic-import-writer"));
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+        private volatile RuntimeException writeFailure;
+
+        // Contadores del hilo lector
+        private long autoresExistentes;
+        private long comicsSinAutor;
+
+        // Contadores del hilo escritor; finish() los lee tras esperar a que termine
+        private long autoresInsertados;
+        private long comicsInsertados;
+        private long errores;
+        private long nextProgress = PROGRESS_INTERVAL;
+
+        ImportRun(int batchSize, Path checkpointFile, String idBase, boolean resumed, Map<String, String> autorIds) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("El tamaño de lote debe ser mayor que 0");
+            }
+            this.batchSize = batchSize;
+            this.checkpointFile = checkpointFile;
+            this.idBase = idBase;
+            this.resumed = resumed;
+            this.autorIds.putAll(autorIds);
+        }
+
+        void addAutor(CatalogReader.AutorEntry autor, long offset) throws IOException {
+            // Un lote solo contiene elementos consecutivos del fichero
+            flushComics();
+            autores.add(autor);
+            batchEndOffset = offset;
+            if (autores.size() == batchSize) {
+                flushAutores();
+            }
+        }
+
+        void addComic(Comic comic, long offset) throws IOException {
+            // Los autores leídos hasta aquí se resuelven antes que este cómic
+            flushAutores();
+            String autorId = resolveAutor(comic.getAutorId());
+            if (autorId == null) {
+                comicsSinAutor++;
+            }
+            comic.setAutorId(autorId);
+            if (comic.getId() == null) {
+                // Como con los autores, para añadirlo a comicsIds sin esperar a la
+                // inserción. Depende de la posición en el fichero, no es aleatorio,
+                // para que repetir el cómic al reanudar dé el mismo id.
+                comic.setId(idBase + String.format("%010x", offset));
+            }
+            comic.setVersion(0L);
+            comics.add(comic);
+            batchEndOffset = offset;
+            if (comics.size() == batchSize) {
+                flushComics();
+            }
+        }
+
+        ImportReportDTO finish() throws IOException {
+            flushAutores();
+            flushComics();
+            writer.shutdown();
+            try {
+                while (!writer.awaitTermination(1, TimeUnit.MINUTES)) {
+                    log.info("Esperando a que se escriban los últimos lotes...");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Importación interrumpida");
+            }
+            checkWriteFailure();
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            ImportReportDTO report = new ImportReportDTO(autoresInsertados, autoresExistentes,
+                    comicsInsertados, comicsSinAutor, errores, millis, rate());
+            log.info("Importación terminada: {}", report);
+            return report;
+        }
+
+        // Si la importación se aborta no se escriben los lotes que quedan en cola
+        @Override
+        public void close() {
+            writer.shutdownNow();
+        }
+
+        // Un autor con el mismo nombre y apellido que uno existente no se
+        // duplica: sus cómics se asignan al que ya está en la base de datos.
+        private void flushAutores() throws IOException {
+            if (autores.isEmpty()) {
+                return;
+            }
+            Set<String> nombres = autores.stream()
+                    .map(autor -> TextNormalizer.normalize(autor.autor().getNombre()))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Query query = new Query(Criteria.where("nombreNormalizado").in(nombres));
+            query.fields().include("nombre", "apellido");
+            Map<String, String> existentes = new HashMap<>();
+            for (Autor existente : mongoTemplate.find(query, Autor.class)) {
+                existentes.put(fullName(existente.getNombre(), existente.getApellido()), existente.getId());
+            }
+
+            List<Autor> nuevos = new ArrayList<>();
+            for (CatalogReader.AutorEntry entry : autores) {
+                Autor autor = entry.autor();
+                String nombre = fullName(autor.getNombre(), autor.getApellido());
+                String id = existentes.get(nombre);
+                if (id != null) {
+                    autoresExistentes++;
+                } else {
+                    // El id se asigna aquí para conocerlo sin esperar a la inserción
+                    id = new ObjectId().toHexString();
+                    autor.setId(id);
+                    // Las inserciones en bloque no inicializan el campo @Version
+                    autor.setVersion(0L);
+                    nuevos.add(autor);
+                }
+                autorIds.put(nombre, id);
+                if (entry.nombreArtistico() != null) {
+                    autorIds.put(TextNormalizer.normalize(entry.nombreArtistico()), id);
+                }
+            }
+            autores = new ArrayList<>();
+            submit(nuevos, Autor.class, batchEndOffset);
+        }
+
+        private void flushComics() throws IOException {
+            if (comics.isEmpty()) {
+                return;
+            }
+            List<Comic> batch = comics;
+            comics = new ArrayList<>();
+            submit(batch, Comic.class, batchEndOffset);
+        }
+
+        // Bloquea mientras haya max-in-flight lotes pendientes de escribir
+        private void submit(List<?> documents, Class<?> entityClass, long endOffset) throws IOException {
+            checkWriteFailure();
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Importación interrumpida");
+            }
+            writer.execute(() -> {
+                try {
+                    if (writeFailure == null) {
+                        write(documents, entityClass, endOffset);
+                    }
+                } catch (RuntimeException e) {
+                    writeFailure = e;
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        private void checkWriteFailure() {
+            if (writeFailure != null) {
+                throw writeFailure;
+            }
+        }
+
+        private String resolveAutor(String ref) {
+            if (ref == null || ref.isBlank()) {
+                return null;
+            }
+            if (ObjectId.isValid(ref)) {
+                return ref;
+            }
+            String id = autorIds.computeIfAbsent(referencedName(ref), this::findAutorId);
+            return id.isEmpty() ? null : id;
+        }
+
+        // Autor que no venía en el fichero: se busca en Mongo por nombre o por
+        // nombre y apellido; el resultado (también si no existe) queda en autorIds.
+        private String findAutorId(String nombre) {
+            String primero = nombre.split(" ", 2)[0];
+            Query query = new Query(Criteria.where("nombreNormalizado").in(primero, nombre));
+            query.fields().include("nombre", "apellido");
+            for (Autor autor : mongoTemplate.find(query, Autor.class)) {
+                if (nombre.equals(fullName(autor.getNombre(), autor.getApellido()))
+                        || nombre.equals(TextNormalizer.normalize(autor.getNombre()))) {
+                    return autor.getId();
+                }
+            }
+            log.warn("Autor no encontrado: {}; sus cómics se importan sin autor", nombre);
+            return "";
+        }
+
+        // En el hilo escritor
+        @SuppressWarnings("unchecked")
+        private void write(List<?> documents, Class<?> entityClass, long endOffset) {
+            long inserted = insert(documents, entityClass);
+            if (entityClass == Autor.class) {
+                autoresInsertados += inserted;
+            } else {
+                comicsInsertados += inserted;
+                addToAutores((List<Comic>) documents);
+                facetCache.invalidateAll();
+            }
+            logProgress();
+            saveCheckpoint(endOffset);
+        }
+
+        private long insert(List<?> documents, Class<?> entityClass) {
+            if (documents.isEmpty()) {
+                return 0;
+            }
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+            bulk.insert(documents);
+            try {
+                return bulk.execute().getInsertedCount();
+            } catch (BulkOperationException e) {
+                // Sin orden, Mongo inserta el resto del lote aunque algún documento falle
+                long repetidos = resumed
+                        ? e.getErrors().stream().filter(error -> error.getCode() == DUPLICATE_KEY).count()
+                        : 0;
+                if (repetidos > 0) {
+                    log.info("{} documentos ya importados antes de reanudar", repetidos);
+                }
+                if (e.getErrors().size() > repetidos) {
+                    errores += e.getErrors().size() - repetidos;
+                    log.warn("{} documentos rechazados en un lote de {}: {}", e.getErrors().size() - repetidos,
+                            documents.size(), e.getErrors().get(0).getMessage());
+                }
+                return e.getResult().getInsertedCount();
+            }
+        }
+
+        // Añade los cómics del lote a la lista comicsIds de sus autores: un
+        // $addToSet por autor, todos en una sola operación bulk. Es idempotente
+        // y un lote repetido al reanudar lleva los mismos ids, así que no
+        // duplica referencias. El $addToSet incrementa la versión de cada
+        // autor, que sale de la caché para no servir un ETag antiguo.
+        private void addToAutores(List<Comic> comics) {
+            Map<String, List<String>> porAutor = comics.stream()
+                    .filter(comic -> comic.getAutorId() != null)
+                    .collect(Collectors.groupingBy(Comic::getAutorId,
+                            Collectors.mapping(Comic::getId, Collectors.toList())));
+            if (porAutor.isEmpty()) {
+                return;
+            }
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Autor.class);
+            porAutor.forEach((autorId, ids) -> bulk.updateOne(new Query(Criteria.where("_id").is(autorId)),
+                    new Update().addToSet("comicsIds").each(ids.toArray())));
+            bulk.execute();
+            porAutor.keySet().forEach(autorCache::invalidate);
+        }
+
+        private void saveCheckpoint(long offset) {
+            if (checkpointFile != null) {
+                writeCheckpoint(checkpointFile, new Checkpoint(offset, autorIds, idBase));
+            }
+        }
+
+        private void logProgress() {
+            long total = autoresInsertados + comicsInsertados;
+            if (total >= nextProgress) {
+                log.info("{} documentos importados ({} docs/s)", total, Math.round(rate()));
+                nextProgress = (total / PROGRESS_INTERVAL + 1) * PROGRESS_INTERVAL;
+            }
+        }
+
+        private double rate() {
+            long nanos = Math.max(System.nanoTime() - start, 1);
+            return (autoresInsertados + comicsInsertados) * 1e9 / nanos;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.comics_api.service;
+
+import com.example.comics_api.model.Comic;
+import com.example.comics_api.util.TextNormalizer;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.CriteriaDefinition;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Consultas de cómics compartidas por el servicio bloqueante y el reactivo
+final class ComicQueries {
+
+    // Ancho en años de los tramos de la faceta de años
+    static final int DECADE = 10;
+
+    private ComicQueries() {
+    }
+
+    static CriteriaDefinition titulo(String titulo, SearchMode mode) {
+        switch (mode) {
+            case TOKEN:
+                return TextCriteria.forDefaultLanguage().matching(titulo);
+            case CONTAINS:
+                return Criteria.where("titulo").regex(Pattern.quote(titulo), "i");
+            default:
+                // Expresión anclada y sensible a mayúsculas sobre el campo normalizado: usa el índice
+                return Criteria.where("tituloNormalizado").regex("^" + Pattern.quote(TextNormalizer.normalize(titulo)));
+        }
+    }
+
+    // Página ordenada por _id a partir del cursor. Se pide un elemento de más
+    // para saber si existe una página siguiente.
+    static Query page(CriteriaDefinition filter, ComicView view, String cursor, int size) {
+        Query query = filter != null ? new Query(filter) : new Query();
+        if (cursor != null) {
+            query.addCriteria(Criteria.where("_id").gt(cursor));
+        }
+        query.with(Sort.by(Sort.Direction.ASC, "_id")).limit(size + 1);
+        applyView(query, view);
+        return query;
+    }
+
+    // Todos los criterios del filtro se combinan con AND en una sola consulta
+    static Criteria filter(ComicFilter filter) {
+        Criteria criteria = new Criteria();
+        if (filter.titulo() != null) {
+            criteria.and("tituloNormalizado").regex("^" + Pattern.quote(TextNormalizer.normalize(filter.titulo())));
+        }
+        if (filter.autorId() != null) {
+            criteria.and("autorId").is(filter.autorId());
+        }
+        if (!filter.generos().isEmpty()) {
+            if (filter.generoMatch() == GenreMatch.ANY) {
+                criteria.and("generos").in(filter.generos());
+            } else {
+                criteria.and("generos").all(filter.generos());
+            }
+        }
+        if (filter.anioDesde() != null || filter.anioHasta() != null) {
+            Criteria anio = criteria.and("anioPublicacion");
+            if (filter.anioDesde() != null) {
+                anio.gte(filter.anioDesde());
+            }
+            if (filter.anioHasta() != null) {
+                anio.lte(filter.anioHasta());
+            }
+        }
+        if (filter.editorial() != null) {
+            criteria.and("editorial").is(filter.editorial());
+        }
+        return criteria;
+    }
+
+    // Página de una búsqueda ordenada por cualquier ComicSort. El cursor es la
+    // posición (valor, _id) del último cómic de la página anterior y la
+    // siguiente empieza justo después, así que cada página es una consulta que
+    // recorre el índice desde ese punto, sin skip.
+    static Query search(ComicFilter filter, ComicSort sort, Sort.Direction direction,
+                        ComicView view, String cursor, int size) {
+        Criteria criteria = filter(filter);
+        if (cursor != null) {
+            criteria = new Criteria().andOperator(criteria, after(sort, direction, cursor));
+        }
+        Sort order = Sort.by(direction, "_id");
+        if (sort != ComicSort.ID) {
+            order = Sort.by(direction, sort.field()).and(order);
+        }
+        Query query = new Query(criteria).with(order).limit(size + 1);
+        applyView(query, view);
+        return query;
+    }
+
+    // Cursor que apunta al cómic: su _id si se ordena por _id y, si no, el
+    // _id y el valor del campo de orden en Base64 (URL)
+    static String cursor(Comic comic, ComicSort sort) {
+        if (sort == ComicSort.ID) {
+            return comic.getId();
+        }
+        Object value = sort.valueOf(comic);
+        String position = value == null ? comic.getId() : comic.getId() + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Posición de un cómic en el orden de una búsqueda: el valor del campo de
+    // orden (null si se ordena por _id o el cómic no lo tiene) y su _id
+    record Position(ObjectId id, Object value) {
+    }
+
+    // Lee un cursor devuelto por cursor(); IllegalArgumentException si no es
+    // válido para ese orden
+    static Position position(ComicSort sort, String cursor) {
+        if (sort == ComicSort.ID) {
+            return new Position(objectId(cursor), null);
+        }
+        String position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor no válido: " + cursor, e);
+        }
+        int separator = position.indexOf(':');
+        ObjectId id = objectId(separator < 0 ? position : position.substring(0, separator));
+        Object value = null;
+        if (separator >= 0) {
+            String text = position.substring(separator + 1);
+            try {
+                value = sort == ComicSort.ANIO ? Integer.valueOf(text) : text;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Cursor no válido: " + cursor, e);
+            }
+        }
+        return new Position(id, value);
+    }
+
+    // Cómics posteriores al cursor en el orden dado. Mongo ordena los nulos
+    // primero, así que en orden descendente van al final.
+    private static Criteria after(ComicSort sort, Sort.Direction direction, String cursor) {
+        boolean asc = direction.isAscending();
+        Position position = position(sort, cursor);
+        ObjectId id = position.id();
+        Object value = position.value();
+        if (sort == ComicSort.ID) {
+            return asc ? Criteria.where("_id").gt(id) : Criteria.where("_id").lt(id);
+        }
+
+        String field = sort.field();
+        Criteria sameValue = Criteria.where(field).is(value).and("_id");
+        sameValue = asc ? sameValue.gt(id) : sameValue.lt(id);
+        if (value == null) {
+            return asc ? new Criteria().orOperator(sameValue, Criteria.where(field).ne(null)) : sameValue;
+        }
+        if (asc) {
+            return new Criteria().orOperator(Criteria.where(field).gt(value), sameValue);
+        }
+        return new Criteria().orOperator(Criteria.where(field).lt(value), sameValue, Criteria.where(field).is(null));
+    }
+
+    private static ObjectId objectId(String id) {
+        if (!ObjectId.isValid(id)) {
+            throw new IllegalArgumentException("Cursor no válido: " + id);
+        }
+        return new ObjectId(id);
+    }
+
+    // Un solo viaje a Mongo para una página y sus facetas: el $match del
+    // filtro usa los índices y $facet recorre una vez los documentos que lo
+    // cumplen para sacar a la vez la página y los recuentos por género,
+    // década y editorial. El cursor solo se aplica a la página.
+    static Aggregation facets(Criteria filter, ComicView view, String cursor, int size) {
+        List<AggregationOperation> page = new ArrayList<>();
+        if (cursor != null) {
+            page.add(Aggregation.match(Criteria.where("_id").gt(new ObjectId(cursor))));
+        }
+        page.add(Aggregation.sort(Sort.Direction.ASC, "_id"));
+        page.add(Aggregation.limit(size + 1));
+        page.add(view == ComicView.SUMMARY
+                ? Aggregation.project().andExclude("tituloNormalizado", "sinopsis")
+                : Aggregation.project().andExclude("tituloNormalizado"));
+
+        Document decada = new Document("$subtract", List.of("$anioPublicacion",
+                new Document("$mod", List.of("$anioPublicacion", DECADE))));
+        return Aggregation.newAggregation(
+                Aggregation.match(filter),
+                Aggregation.facet(page.toArray(AggregationOperation[]::new)).as("comics")
+                        .and(Aggregation.count().as("total")).as("total")
+                        .and(Aggregation.unwind("generos"), countBy("generos"), byTotal()).as("generos")
+                        .and(context -> new Document("$group", new Document("_id", decada)
+                                        .append("total", new Document("$sum", 1))),
+                                Aggregation.sort(Sort.Direction.ASC, "_id")).as("anios")
+                        .and(countBy("editorial"), byTotal()).as("editoriales"));
+    }
+
+    static Query all(ComicView view) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "_id"));
+        applyView(query, view);
+        return query;
+    }
+
+    // { _id: valor, total } por cada valor del campo
+    private static AggregationOperation countBy(String field) {
+        return context -> new Document("$group", new Document("_id", "$" + field)
+                .append("total", new Document("$sum", 1)));
+    }
+
+    // De más a menos cómics; los empates, por valor
+    private static AggregationOperation byTotal() {
+        return Aggregation.sort(Sort.by(Sort.Direction.DESC, "total").and(Sort.by(Sort.Direction.ASC, "_id")));
+    }
+
+    // La vista resumida no trae de Mongo la sinopsis, el campo más pesado
+    private static void applyView(Query query, ComicView view) {
+        query.fields().exclude("tituloNormalizado");
+        if (view == ComicView.SUMMARY) {
+            query.fields().exclude("sinopsis");
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.example.comics_api.service;
+
+import com.example.comics_api.mapper.DtoMapper;
+import com.example.comics_api.model.Autor;
+import com.example.comics_api.model.Comic;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Réplica en memoria de las colecciones Comics y Autores (comics.replica.enabled).
+// Al arrancar abre un change stream sobre ambas, las carga enteras y publica un
+// CatalogSnapshot; después un hilo aplica cada cambio y publica un snapshot
+// nuevo, derivado del anterior con solo los cómics y autores cambiados, como
+// mucho una vez cada comics.replica.publish-interval. Con escrituras
+// continuas, un cambio tarda en verse como mucho publish-interval más
+// max-await. El change stream se abre antes de la carga,
+// así que ningún cambio hecho durante ella se pierde (alguno se aplica dos
+// veces, sin efecto, porque cada evento trae el documento completo).
+// Los change streams necesitan un replica set: Atlas lo es y en local basta un
+// mongod de un solo nodo arrancado con --replSet.
+@Component
+@ConditionalOnProperty(name = "comics.replica.enabled", havingValue = "true")
+public class ComicReplica implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ComicReplica.class);
+
+    // El token de reanudación ya no está en el oplog: hay que recargar
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    private static final Set<OperationType> DATA_CHANGES =
+            EnumSet.of(OperationType.INSERT, OperationType.UPDATE, OperationType.REPLACE, OperationType.DELETE);
+
+    private static final Set<OperationType> RELOAD = EnumSet.of(OperationType.DROP, OperationType.RENAME,
+            OperationType.DROP_DATABASE, OperationType.INVALIDATE);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
+    // Espera máxima de cada lectura del change stream sin cambios; acota la
+    // desactualización cuando no hay escrituras
+    @Value("${comics.replica.max-await:500ms}")
+    private Duration maxAwait;
+
+    @Value("${comics.replica.retry-delay:5s}")
+    private Duration retryDelay;
+
+    // Tiempo mínimo entre dos snapshots publicados: los cambios que llegan
+    // entre medias se acumulan y se publican juntos
+    @Value("${comics.replica.publish-interval:200ms}")
+    private Duration publishInterval;
+
+    // Estado de trabajo, solo lo toca el hilo de la réplica (y start() antes de lanzarlo)
+    private final Map<String, Comic> comics = new HashMap<>();
+    private final Map<String, Autor> autores = new HashMap<>();
+    // Cambios aún no publicados, por id (null: borrado)
+    private final Map<String, Comic> comicsCambiados = new HashMap<>();
+    private final Map<String, Autor> autoresCambiados = new HashMap<>();
+    private long publishedAt;
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+    private BsonDocument resumeToken;
+
+    private volatile CatalogSnapshot snapshot;
+    private volatile Thread thread;
+    private volatile boolean running;
+
+    // Instante (ms) hasta el que el snapshot publicado incluye todas las escrituras
+    private volatile long consistentAt;
+    private volatile long lastLagMillis;
+    private final LongAdder events = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+
+    // null hasta terminar la carga inicial
+    CatalogSnapshot snapshot() {
+        return snapshot;
+    }
+
+    // Carga el catálogo antes de que la aplicación acepte peticiones. Si el
+    // servidor no admite change streams (no es un replica set) falla el arranque.
+    @Override
+    public void start() {
+        long started = System.currentTimeMillis();
+        resync();
+        log.info("Réplica del catálogo cargada: {} cómics y {} autores en {} ms",
+                comics.size(), autores.size(), System.currentTimeMillis() - started);
+        running = true;
+        thread = new Thread(this::run, "comic-replica");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = thread;
+        if (current != null) {
+            current.interrupt();
+            try {
+                current.join(maxAwait.toMillis() + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Antes que el servidor web, para no recibir peticiones sin el catálogo cargado
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+
+    public Stats stats() {
+        CatalogSnapshot current = snapshot;
+        return new Stats(current != null && running,
+                current == null ? 0 : current.size(),
+                current == null ? 0 : current.autores(),
+                events.sum(),
+                reloads.sum(),
+                current == null ? -1 : Math.max(0, System.currentTimeMillis() - consistentAt),
+                lastLagMillis);
+    }
+
+    private void run() {
+        boolean dirty = false;
+        while (running) {
+            try {
+                if (cursor == null) {
+                    if (resumeToken == null) {
+                        resync();
+                    } else {
+                        cursor = open(resumeToken);
+                    }
+                }
+                long polledAt = System.currentTimeMillis();
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change == null) {
+                    // Nada pendiente: el snapshot está al día hasta la lectura
+                    if (dirty) {
+                        publish();
+                        dirty = false;
+                    }
+                    consistentAt = polledAt;
+                    continue;
+                }
+                if (RELOAD.contains(change.getOperationType())) {
+                    // Colección borrada o renombrada: el stream ya no sirve y se recarga todo
+                    log.info("Cambio {} en {}: se recarga la réplica", change.getOperationType(),
+                            change.getNamespace());
+                    closeCursor();
+                    resumeToken = null;
+                    dirty = false;
+                    continue;
+                }
+                dirty = apply(change) || dirty;
+                resumeToken = change.getResumeToken();
+                if (dirty && System.currentTimeMillis() - publishedAt >= publishInterval.toMillis()) {
+                    // Si no, se publica con un cambio posterior o, si no llega
+                    // ninguno, cuando tryNext() vuelva sin nada
+                    publish();
+                    dirty = false;
+                    consistentAt = Math.max(consistentAt, wallTime(change));
+                }
+            } catch (MongoException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Change stream de la réplica interrumpido; se reintenta en {}", retryDelay, e);
+                closeCursor();
+                if (e instanceof MongoCommandException command
+                        && command.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    resumeToken = null;
+                }
+                pause();
+            } catch (RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                // Un documento que no se puede convertir o un fallo al construir el
+                // snapshot. Sin snapshot las lecturas van a Mongo (y stats() deja de
+                // dar la réplica por activa) hasta que la recarga lo consiga.
+                log.error("Error en la réplica; se recarga en {}", retryDelay, e);
+                snapshot = null;
+                closeCursor();
+                resumeToken = null;
+                dirty = false;
+                pause();
+            }
+        }
+        closeCursor();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(retryDelay.toMillis());
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Abre el change stream y carga las colecciones completas. Sin token de
+    // reanudación, si la carga falla a medias se vuelve a empezar desde aquí.
+    private void resync() {
+        closeCursor();
+        resumeToken = null;
+        cursor = open(null);
+        comics.clear();
+        autores.clear();
+        try (Stream<Comic> all = mongoTemplate.stream(new Query(), Comic.class)) {
+            all.forEach(comic -> comics.put(comic.getId(), comic));
+        }
+        Query sinComics = new Query();
+        sinComics.fields().exclude("comicsIds");
+        try (Stream<Autor> all = mongoTemplate.stream(sinComics, Autor.class)) {
+            all.forEach(autor -> autores.put(autor.getId(), autor));
+        }
+        reloads.increment();
+        long loadedAt = System.currentTimeMillis();
+        comicsCambiados.clear();
+        autoresCambiados.clear();
+        snapshot = CatalogSnapshot.build(comics.values(), autores.values(), dtoMapper);
+        publishedAt = System.currentTimeMillis();
+        consistentAt = loadedAt;
+    }
+
+    // Solo los cambios de Comics y Autores, con el documento completo tras
+    // cada actualización y sin la lista comicsIds de los autores
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open(BsonDocument resumeAfter) {
+        String comicsCollection = mongoTemplate.getCollectionName(Comic.class);
+        String autoresCollection = mongoTemplate.getCollectionName(Autor.class);
+        ChangeStreamIterable<Document> stream = mongoTemplate.getDb().watch(List.of(
+                        Aggregates.match(Filters.in("ns.coll", comicsCollection, autoresCollection)),
+                        Aggregates.project(Projections.exclude("fullDocument.comicsIds"))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(maxAwait.toMillis(), TimeUnit.MILLISECONDS);
+        if (resumeAfter != null) {
+            stream = stream.resumeAfter(resumeAfter);
+        }
+        return stream.cursor();
+    }
+
+    // Aplica un cambio al estado de trabajo; false si no cambia nada
+    private boolean apply(ChangeStreamDocument<Document> change) {
+        events.increment();
+        lastLagMillis = Math.max(0, System.currentTimeMillis() - wallTime(change));
+        if (!DATA_CHANGES.contains(change.getOperationType())) {
+            return false;
+        }
+        boolean isComic = mongoTemplate.getCollectionName(Comic.class)
+                .equals(change.getNamespace().getCollectionName());
+        String id = id(change.getDocumentKey().get("_id"));
+        // Con UPDATE_LOOKUP el documento es null si se borró antes de leerlo
+        Document document = change.getFullDocument();
+        MongoConverter converter = mongoTemplate.getConverter();
+        if (isComic) {
+            if (document == null) {
+                if (comics.remove(id) == null) {
+                    return false;
+                }
+                comicsCambiados.put(id, null);
+                return true;
+            }
+            Comic comic = converter.read(Comic.class, document);
+            comics.put(id, comic);
+            comicsCambiados.put(id, comic);
+        } else {
+            if (document == null) {
+                if (autores.remove(id) == null) {
+                    return false;
+                }
+                autoresCambiados.put(id, null);
+                return true;
+            }
+            Autor autor = converter.read(Autor.class, document);
+            autores.put(id, autor);
+            autoresCambiados.put(id, autor);
+        }
+        return true;
+    }
+
+    // Con el snapshot anterior solo se convierten los cambios pendientes
+    private void publish() {
+        CatalogSnapshot current = snapshot;
+        snapshot = current == null
+                ? CatalogSnapshot.build(comics.values(), autores.values(), dtoMapper)
+                : current.update(comicsCambiados, autoresCambiados, dtoMapper);
+        comicsCambiados.clear();
+        autoresCambiados.clear();
+        publishedAt = System.currentTimeMillis();
+    }
+
+    private void closeCursor() {
+        if (cursor != null) {
+            try {
+                cursor.close();
+            } catch (MongoException e) {
+                log.debug("Error al cerrar el change stream", e);
+            }
+            cursor = null;
+        }
+    }
+
+    // Hora del servidor en que se hizo la escritura
+    private static long wallTime(ChangeStreamDocument<Document> change) {
+        if (change.getWallTime() != null) {
+            return change.getWallTime().getValue();
+        }
+        return change.getClusterTime() == null
+                ? System.currentTimeMillis()
+                : change.getClusterTime().getTime() * 1000L;
+    }
+
+    private static String id(BsonValue id) {
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+
+    public record Stats(
+            boolean activa,
+            int comics,
+            int autores,
+            long eventos,        // cambios recibidos por el change stream
+            long recargas,       // cargas completas (la inicial incluida)
+            long desfaseMillis,  // antigüedad de la última escritura que puede faltar en memoria
+            long retrasoMillis) { // del último cambio, entre su escritura y su aplicación
+    }
+}
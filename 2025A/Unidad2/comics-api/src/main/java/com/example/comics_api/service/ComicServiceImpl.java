@@ -1,33 +1,70 @@
 package com.example.comics_api.service;
 
+import com.example.comics_api.dto.AnioBucketDTO;
 import com.example.comics_api.dto.AutorDTO;
 import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.dto.ComicFacetPageDTO;
+import com.example.comics_api.dto.ComicPageDTO;
+import com.example.comics_api.dto.ComicPatchDTO;
+import com.example.comics_api.dto.FacetCountDTO;
+import com.example.comics_api.dto.FacetasDTO;
+import com.example.comics_api.mapper.DtoMapper;
 import com.example.comics_api.model.Autor;
 import com.example.comics_api.model.Comic;
 import com.example.comics_api.repository.AutorRepository;
 import com.example.comics_api.repository.ComicRepository;
 import com.example.comics_api.service.IComicService;
+import com.example.comics_api.util.TextNormalizer;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.CriteriaDefinition;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ComicServiceImpl implements IComicService {
 
+    // Cómics que se convierten juntos al recorrer el catálogo en streaming
+    private static final int STREAM_BATCH_SIZE = 500;
+
     @Autowired
     private ComicRepository comicRepository;
     
     @Autowired
     private AutorRepository autorRepository;
 
+    @Autowired
+    private AutorCache autorCache;
+
+    @Autowired
+    private FacetCache facetCache;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
     @Override
     public List<ComicDTO> findAllComics() {
         List<Comic> comics = comicRepository.findAll();
-        return comics.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(comics);
     }
 
     @Override
@@ -36,111 +73,292 @@ public class ComicServiceImpl implements IComicService {
                 .map(this::convertToDTO);
     }
 
-    /*
+    // Guarda el cómic (lo crea si no tiene id). La lista comicsIds de los
+    // autores se mantiene con $pull/$addToSet, actualizaciones atómicas de un
+    // solo documento, en lugar de leer el autor, modificar la lista y guardarlo
+    // entero, que perdía cambios con escrituras concurrentes.
     @Override
     public ComicDTO saveComic(Comic comic) {
-        Comic savedComic = comicRepository.save(comic);
-        
-        // Actualizar la lista de cómics del autor
-        if (savedComic.getAutorId() != null) {
-            Optional<Autor> autorOpt = autorRepository.findById(savedComic.getAutorId());
-            if (autorOpt.isPresent()) {
-                Autor autor = autorOpt.get();
-                if (autor.getComicsIds() == null) {
-                    autor.setComicsIds(new ArrayList<>());
-                }
-                if (!autor.getComicsIds().contains(savedComic.getId())) {
-                    autor.getComicsIds().add(savedComic.getId());
-                    autorRepository.save(autor);
-                }
-            }
+        String anteriorAutorId = null;
+        if (comic.getId() == null) {
+            comic.setVersion(null);
+            comic = mongoTemplate.insert(comic);
+        } else {
+            Comic anterior = mongoTemplate.findAndModify(byIdWithAutor(comic.getId(), null), replaceUpdate(comic),
+                    FindAndModifyOptions.options().upsert(true), Comic.class);
+            anteriorAutorId = anterior == null ? null : anterior.getAutorId();
+            comic.setVersion(VersionedUpdates.nextVersion(anterior == null ? null : anterior.getVersion()));
         }
-        
-        return convertToDTO(savedComic);
+        updateAutorReferences(comic.getId(), anteriorAutorId, comic.getAutorId());
+        facetCache.invalidateAll();
+        return convertToDTO(comic);
     }
-        */
-    
 
-        /*
-    @Override
-    public void deleteComic(String id) {
-        // Primero eliminar la referencia del cómic en el autor
-        Optional<Comic> comicOpt = comicRepository.findById(id);
-        if (comicOpt.isPresent()) {
-            Comic comic = comicOpt.get();
-            if (comic.getAutorId() != null) {
-                Optional<Autor> autorOpt = autorRepository.findById(comic.getAutorId());
-                if (autorOpt.isPresent()) {
-                    Autor autor = autorOpt.get();
-                    if (autor.getComicsIds() != null) {
-                        autor.getComicsIds().remove(id);
-                        autorRepository.save(autor);
-                    }
-                }
-            }
+    // Reemplaza los campos del cómic solo si existe (vacío si no) y, con
+    // expectedVersion, solo si sigue en esa versión.
+    @Override
+    public Optional<ComicDTO> updateComic(String id, Comic comic, Long expectedVersion) {
+        Comic anterior = mongoTemplate.findAndModify(byIdWithAutor(id, expectedVersion), replaceUpdate(comic),
+                Comic.class);
+        if (anterior == null) {
+            VersionedUpdates.checkConflict(mongoTemplate, id, expectedVersion, Comic.class);
+            return Optional.empty();
+        }
+        comic.setId(id);
+        comic.setVersion(VersionedUpdates.nextVersion(anterior.getVersion()));
+        updateAutorReferences(id, anterior.getAutorId(), comic.getAutorId());
+        facetCache.invalidateAll();
+        return Optional.of(convertToDTO(comic));
+    }
+
+    // Escribe con $set solo los campos del PATCH. Se recupera el documento
+    // anterior completo para conocer su autor y construir la respuesta.
+    @Override
+    public Optional<ComicDTO> patchComic(String id, ComicPatchDTO patch, Long expectedVersion) {
+        Update update = VersionedUpdates.update();
+        VersionedUpdates.setIfPresent(update, "titulo", patch.titulo());
+        if (patch.titulo() != null) {
+            update.set("tituloNormalizado", TextNormalizer.normalize(patch.titulo()));
+        }
+        VersionedUpdates.setIfPresent(update, "anioPublicacion", patch.anioPublicacion());
+        VersionedUpdates.setIfPresent(update, "editorial", patch.editorial());
+        VersionedUpdates.setIfPresent(update, "sinopsis", patch.sinopsis());
+        VersionedUpdates.setIfPresent(update, "generos", patch.generos());
+        VersionedUpdates.setIfPresent(update, "autorId", patch.autorId());
+        Comic comic = mongoTemplate.findAndModify(VersionedUpdates.byId(id, expectedVersion), update, Comic.class);
+        if (comic == null) {
+            VersionedUpdates.checkConflict(mongoTemplate, id, expectedVersion, Comic.class);
+            return Optional.empty();
+        }
+        String anteriorAutorId = comic.getAutorId();
+        dtoMapper.patch(patch, comic);
+        comic.setVersion(VersionedUpdates.nextVersion(comic.getVersion()));
+        if (patch.autorId() != null) {
+            updateAutorReferences(id, anteriorAutorId, comic.getAutorId());
         }
-        
-        // Luego eliminar el cómic
-        comicRepository.deleteById(id);
+        facetCache.invalidateAll();
+        return Optional.of(convertToDTO(comic));
+    }
+
+    @Override
+    public boolean deleteComic(String id) {
+        Comic borrado = mongoTemplate.findAndRemove(byIdWithAutor(id, null), Comic.class);
+        if (borrado == null) {
+            return false;
+        }
+        updateAutorReferences(id, borrado.getAutorId(), null);
+        facetCache.invalidateAll();
+        return true;
     }
-        */
 
     @Override
     public List<ComicDTO> findComicsByTitulo(String titulo) {
-        List<Comic> comics = comicRepository.findByTituloContainingIgnoreCase(titulo);
-        return comics.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        List<Comic> comics = comicRepository.findByTituloNormalizadoStartingWith(TextNormalizer.normalize(titulo));
+        return convertToDTOs(comics);
     }
 
     @Override
     public List<ComicDTO> findComicsByAutorId(String autorId) {
         List<Comic> comics = comicRepository.findByAutorId(autorId);
-        return comics.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(comics);
     }
 
     @Override
     public List<ComicDTO> findComicsByAnioPublicacion(int anioPublicacion) {
         List<Comic> comics = comicRepository.findByAnioPublicacion(anioPublicacion);
-        return comics.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(comics);
     }
 
     @Override
     public List<ComicDTO> findComicsByGenero(String genero) {
         List<Comic> comics = comicRepository.findByGeneros(genero);
+        return convertToDTOs(comics);
+    }
+
+    @Override
+    public ComicPageDTO findAllComics(ComicView view, String cursor, int size) {
+        return findPage(null, view, cursor, size);
+    }
+
+    @Override
+    public ComicPageDTO findComicsByTitulo(String titulo, SearchMode mode, ComicView view, String cursor, int size) {
+        return findPage(ComicQueries.titulo(titulo, mode), view, cursor, size);
+    }
+
+    @Override
+    public ComicPageDTO findComicsByAutorId(String autorId, ComicView view, String cursor, int size) {
+        return findPage(Criteria.where("autorId").is(autorId), view, cursor, size);
+    }
+
+    @Override
+    public ComicPageDTO findComicsByAnioPublicacion(int anioPublicacion, ComicView view, String cursor, int size) {
+        return findPage(Criteria.where("anioPublicacion").is(anioPublicacion), view, cursor, size);
+    }
+
+    @Override
+    public ComicPageDTO findComicsByGenero(String genero, ComicView view, String cursor, int size) {
+        return findPage(Criteria.where("generos").is(genero), view, cursor, size);
+    }
+
+    @Override
+    public ComicPageDTO searchComics(ComicFilter filter, ComicSort sort, Sort.Direction direction,
+                                     ComicView view, String cursor, int size) {
+        List<Comic> comics = mongoTemplate.find(
+                ComicQueries.search(filter, sort, direction, view, cursor, size), Comic.class);
+        String nextCursor = null;
+        if (comics.size() > size) {
+            comics = comics.subList(0, size);
+            nextCursor = ComicQueries.cursor(comics.get(size - 1), sort);
+        }
+        return new ComicPageDTO(convertToDTOs(comics), nextCursor);
+    }
+
+    // Con los recuentos del filtro en caché basta la consulta de la página; si
+    // no, una sola agregación trae la página y los recuentos, que se guardan.
+    @Override
+    public ComicFacetPageDTO findComicsWithFacets(ComicFilter filter, ComicView view, String cursor, int size) {
+        Criteria criteria = ComicQueries.filter(filter);
+        FacetasDTO facetas = facetCache.get(filter);
+        if (facetas != null) {
+            ComicPageDTO page = findPage(criteria, view, cursor, size);
+            return new ComicFacetPageDTO(page.content(), page.nextCursor(), facetas);
+        }
+
+        long generation = facetCache.generation();
+        Document result = mongoTemplate.aggregate(ComicQueries.facets(criteria, view, cursor, size),
+                mongoTemplate.getCollectionName(Comic.class), Document.class).getUniqueMappedResult();
+        List<Document> totals = result.getList("total", Document.class);
+        facetas = new FacetasDTO(
+                totals.isEmpty() ? 0 : totals.get(0).get("total", Number.class).longValue(),
+                facetCounts(result.getList("generos", Document.class)),
+                result.getList("anios", Document.class).stream()
+                        .map(doc -> {
+                            int desde = doc.get("_id", Number.class).intValue();
+                            return new AnioBucketDTO(desde, desde + ComicQueries.DECADE - 1,
+                                    doc.get("total", Number.class).longValue());
+                        })
+                        .collect(Collectors.toList()),
+                facetCounts(result.getList("editoriales", Document.class)));
+        facetCache.put(filter, facetas, generation);
+
+        MongoConverter converter = mongoTemplate.getConverter();
+        List<Comic> comics = result.getList("comics", Document.class).stream()
+                .map(doc -> converter.read(Comic.class, doc))
+                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (comics.size() > size) {
+            comics = comics.subList(0, size);
+            nextCursor = comics.get(size - 1).getId();
+        }
+        return new ComicFacetPageDTO(convertToDTOs(comics), nextCursor, facetas);
+    }
+
+    @Override
+    public void streamAllComics(ComicView view, Consumer<ComicDTO> consumer) {
+        Query query = ComicQueries.all(view);
+        List<Comic> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+        try (Stream<Comic> comics = mongoTemplate.stream(query, Comic.class)) {
+            comics.forEach(comic -> {
+                batch.add(comic);
+                if (batch.size() == STREAM_BATCH_SIZE) {
+                    convertToDTOs(batch).forEach(consumer);
+                    batch.clear();
+                }
+            });
+        }
+        convertToDTOs(batch).forEach(consumer);
+    }
+
+    private ComicPageDTO findPage(CriteriaDefinition filter, ComicView view, String cursor, int size) {
+        List<Comic> comics = mongoTemplate.find(ComicQueries.page(filter, view, cursor, size), Comic.class);
+        String nextCursor = null;
+        if (comics.size() > size) {
+            comics = comics.subList(0, size);
+            nextCursor = comics.get(size - 1).getId();
+        }
+        return new ComicPageDTO(convertToDTOs(comics), nextCursor);
+    }
+
+    // Convierte una lista de cómics resolviendo todos sus autores de una vez:
+    // los que no están en caché se cargan con una sola consulta ($in sobre _id,
+    // sin la biografía) en lugar de una consulta por cómic. Todos los cómics de
+    // un autor comparten la misma instancia de AutorDTO.
+    private List<ComicDTO> convertToDTOs(List<Comic> comics) {
+        Set<String> autorIds = comics.stream()
+                .map(Comic::getAutorId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<String, AutorDTO> autores = new HashMap<>();
+        if (!autorIds.isEmpty()) {
+            autorCache.getAllSummaries(autorIds)
+                    .forEach((id, autor) -> autores.put(id, dtoMapper.toEmbeddedDTO(autor)));
+        }
+
         return comics.stream()
-                .map(this::convertToDTO)
+                .map(comic -> dtoMapper.toDTO(comic, autores.get(comic.getAutorId())))
                 .collect(Collectors.toList());
     }
 
+    // Los cómics sin el campo (valor null) no cuentan en la faceta
+    private static List<FacetCountDTO> facetCounts(List<Document> groups) {
+        return groups.stream()
+                .filter(doc -> doc.get("_id") != null)
+                .map(doc -> new FacetCountDTO(doc.get("_id").toString(), doc.get("total", Number.class).longValue()))
+                .collect(Collectors.toList());
+    }
+
+    // Del documento que se reemplaza o se borra solo hacen falta su autor y su versión
+    private static Query byIdWithAutor(String id, Long expectedVersion) {
+        Query query = VersionedUpdates.byId(id, expectedVersion);
+        query.fields().include("autorId", "version");
+        return query;
+    }
+
+    // Reemplazo con $set/$unset en lugar de findAndReplace para incrementar la
+    // versión en la misma operación. tituloNormalizado se calcula aquí porque
+    // las actualizaciones no pasan por SearchFieldsListener.
+    private static Update replaceUpdate(Comic comic) {
+        Update update = VersionedUpdates.update();
+        VersionedUpdates.setOrUnset(update, "titulo", comic.getTitulo());
+        VersionedUpdates.setOrUnset(update, "tituloNormalizado", TextNormalizer.normalize(comic.getTitulo()));
+        update.set("anioPublicacion", comic.getAnioPublicacion());
+        VersionedUpdates.setOrUnset(update, "editorial", comic.getEditorial());
+        VersionedUpdates.setOrUnset(update, "sinopsis", comic.getSinopsis());
+        VersionedUpdates.setOrUnset(update, "generos", comic.getGeneros());
+        VersionedUpdates.setOrUnset(update, "autorId", comic.getAutorId());
+        return update;
+    }
+
+    // Cada $pull/$addToSet incrementa la versión del autor, así que solo se
+    // hacen si el cómic cambia de autor, y los autores tocados salen de la
+    // caché para que su ETag no se quede en la versión anterior.
+    private void updateAutorReferences(String comicId, String anteriorAutorId, String autorId) {
+        if (Objects.equals(anteriorAutorId, autorId)) {
+            return;
+        }
+        if (anteriorAutorId != null) {
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(anteriorAutorId)),
+                    new Update().pull("comicsIds", comicId), Autor.class);
+            autorCache.invalidate(anteriorAutorId);
+        }
+        if (autorId != null) {
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(autorId)),
+                    new Update().addToSet("comicsIds", comicId), Autor.class);
+            autorCache.invalidate(autorId);
+        }
+    }
+
     private ComicDTO convertToDTO(Comic comic) {
-        ComicDTO comicDTO = new ComicDTO();
-        comicDTO.setId(comic.getId());
-        comicDTO.setTitulo(comic.getTitulo());
-        comicDTO.setAnioPublicacion(comic.getAnioPublicacion());
-        comicDTO.setEditorial(comic.getEditorial());
-        comicDTO.setSinopsis(comic.getSinopsis());
-        comicDTO.setGeneros(comic.getGeneros());
-        
+        AutorDTO autorDTO = null;
+
         // Obtener el autor del cómic
         if (comic.getAutorId() != null) {
-            Optional<Autor> autorOpt = autorRepository.findById(comic.getAutorId());
-            if (autorOpt.isPresent()) {
-                Autor autor = autorOpt.get();
-                AutorDTO autorDTO = new AutorDTO();
-                autorDTO.setId(autor.getId());
-                autorDTO.setNombre(autor.getNombre());
-                autorDTO.setApellido(autor.getApellido());
-                autorDTO.setNacionalidad(autor.getNacionalidad());
-                autorDTO.setFechaNacimiento(autor.getFechaNacimiento());
-                comicDTO.setAutor(autorDTO);
-            }
-        }
-        
-        return comicDTO;
+            autorDTO = autorCache.get(comic.getAutorId())
+                    .map(dtoMapper::toEmbeddedDTO)
+                    .orElse(null);
+        }
+
+        return dtoMapper.toDTO(comic, autorDTO);
     }
 }
@@ -0,0 +1,31 @@
+package com.example.comics_api.service;
+
+import com.example.comics_api.model.Comic;
+import com.example.comics_api.util.TextNormalizer;
+import java.util.function.Function;
+
+// Campos por los que se puede ordenar una búsqueda. El _id desempata, así que
+// (campo, _id) identifica la posición de un cómic para paginar por cursor.
+public enum ComicSort {
+    ID("_id", comic -> null),
+    ANIO("anioPublicacion", Comic::getAnioPublicacion),
+    // Por el título normalizado: sin distinguir mayúsculas ni tildes y con índice
+    TITULO("tituloNormalizado", comic -> TextNormalizer.normalize(comic.getTitulo()));
+
+    private final String field;
+    private final Function<Comic, Object> value;
+
+    ComicSort(String field, Function<Comic, Object> value) {
+        this.field = field;
+        this.value = value;
+    }
+
+    String field() {
+        return field;
+    }
+
+    // Valor del campo de orden en un cómic leído sin tituloNormalizado
+    Object valueOf(Comic comic) {
+        return value.apply(comic);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.comics_api.service;
+
+// Nivel de detalle de los cómics en los listados
+public enum ComicView {
+    SUMMARY, // Sin sinopsis: no se lee de Mongo ni se envía al cliente
+    FULL
+}
@@ -0,0 +1,46 @@
+package com.example.comics_api.service;
+
+import com.example.comics_api.dto.FacetasDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+
+// Caché de los recuentos de facetas por combinación de filtros, acotada por
+// tamaño (LRU) y por tiempo de vida. Cualquier escritura de cómics puede
+// cambiar cualquier recuento, así que se vacía entera en cada una; el tiempo
+// de vida cubre las escrituras hechas desde otras instancias.
+@Component
+public class FacetCache {
+
+    private final BoundedCache<ComicFilter, FacetasDTO> cache;
+
+    @Autowired
+    public FacetCache(@Value("${comics.cache.facetas.max-size:1000}") int maxSize,
+                      @Value("${comics.cache.facetas.ttl:5m}") Duration ttl) {
+        this.cache = new BoundedCache<>(maxSize, ttl);
+    }
+
+    // null si no están en caché o han caducado
+    public FacetasDTO get(ComicFilter filter) {
+        return cache.get(filter);
+    }
+
+    // Se llama antes de calcular unos recuentos que luego se pasan a put():
+    // unos recuentos calculados antes de una invalidación no se guardan
+    public long generation() {
+        return cache.generation();
+    }
+
+    public void put(ComicFilter filter, FacetasDTO facetas, long loadGeneration) {
+        cache.put(filter, facetas, loadGeneration);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public BoundedCache.Stats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.comics_api.service;
+
+// Cómo se combinan varios géneros en un filtro
+public enum GenreMatch {
+    ALL, // El cómic tiene todos ($all)
+    ANY  // El cómic tiene alguno ($in)
+}
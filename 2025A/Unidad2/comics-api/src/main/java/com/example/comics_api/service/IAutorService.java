@@ -1,6 +1,8 @@
 package com.example.comics_api.service;
 
 import com.example.comics_api.dto.AutorDTO;
+import com.example.comics_api.dto.AutorPageDTO;
+import com.example.comics_api.dto.AutorPatchDTO;
 import com.example.comics_api.model.Autor;
 import java.util.List;
 import java.util.Optional;
@@ -9,7 +11,19 @@ public interface IAutorService {
     List<AutorDTO> findAllAutores();
     Optional<AutorDTO> findAutorById(String id);
     AutorDTO saveAutor(Autor autor);
-    void deleteAutor(String id);
+
+    // Vacío si el autor no existe. Con expectedVersion (null = sin condición)
+    // lanzan OptimisticLockingFailureException si el autor ya cambió.
+    Optional<AutorDTO> updateAutor(String id, Autor autor, Long expectedVersion);
+    Optional<AutorDTO> patchAutor(String id, AutorPatchDTO patch, Long expectedVersion);
+
+    boolean deleteAutor(String id);
     List<AutorDTO> findAutoresByNombre(String nombre);
     List<AutorDTO> findAutoresByNacionalidad(String nacionalidad);
+
+    // Autor con sus cómics, resuelto en una sola agregación
+    Optional<AutorDTO> findAutorWithComics(String id);
+
+    // Paginación por cursor sobre _id, con el número de cómics de cada autor
+    AutorPageDTO findAutores(String cursor, int size);
 }
@@ -1,17 +1,48 @@
 package com.example.comics_api.service;
 
 import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.dto.ComicFacetPageDTO;
+import com.example.comics_api.dto.ComicPageDTO;
+import com.example.comics_api.dto.ComicPatchDTO;
 import com.example.comics_api.model.Comic;
+import org.springframework.data.domain.Sort;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface IComicService {
     List<ComicDTO> findAllComics();
     Optional<ComicDTO> findComicById(String id);
-    //ComicDTO saveComic(Comic comic);
-    //void deleteComic(String id);
+    ComicDTO saveComic(Comic comic);
+
+    // Vacío si el cómic no existe. Con expectedVersion (null = sin condición)
+    // lanzan OptimisticLockingFailureException si el cómic ya cambió.
+    Optional<ComicDTO> updateComic(String id, Comic comic, Long expectedVersion);
+    Optional<ComicDTO> patchComic(String id, ComicPatchDTO patch, Long expectedVersion);
+
+    boolean deleteComic(String id); // false si no existía
     List<ComicDTO> findComicsByTitulo(String titulo);
     List<ComicDTO> findComicsByAutorId(String autorId);
     List<ComicDTO> findComicsByAnioPublicacion(int anioPublicacion);
     List<ComicDTO> findComicsByGenero(String genero);
+
+    // Paginación por cursor (keyset sobre _id): cursor es el _id del último
+    // cómic de la página anterior, o null para la primera página.
+    ComicPageDTO findAllComics(ComicView view, String cursor, int size);
+    ComicPageDTO findComicsByTitulo(String titulo, SearchMode mode, ComicView view, String cursor, int size);
+    ComicPageDTO findComicsByAutorId(String autorId, ComicView view, String cursor, int size);
+    ComicPageDTO findComicsByAnioPublicacion(int anioPublicacion, ComicView view, String cursor, int size);
+    ComicPageDTO findComicsByGenero(String genero, ComicView view, String cursor, int size);
+
+    // Cualquier combinación de filtros en una sola consulta, ordenada por
+    // sort y paginada por cursor (el devuelto en la página anterior)
+    ComicPageDTO searchComics(ComicFilter filter, ComicSort sort, Sort.Direction direction,
+                              ComicView view, String cursor, int size);
+
+    // Página de los cómics que cumplen el filtro con los recuentos por género,
+    // década y editorial de todos ellos
+    ComicFacetPageDTO findComicsWithFacets(ComicFilter filter, ComicView view, String cursor, int size);
+
+    // Recorre todo el catálogo con un cursor de Mongo sin materializarlo en memoria
+    void streamAllComics(ComicView view, Consumer<ComicDTO> consumer);
 }
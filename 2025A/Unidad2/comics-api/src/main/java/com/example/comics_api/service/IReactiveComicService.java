@@ -0,0 +1,17 @@
+package com.example.comics_api.service;
+
+import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.dto.ComicPageDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Versión no bloqueante de IComicService (perfil "reactive")
+public interface IReactiveComicService {
+    Mono<ComicDTO> findComicById(String id);
+    Mono<ComicPageDTO> findAllComics(ComicView view, String cursor, int size);
+    Mono<ComicPageDTO> findComicsByTitulo(String titulo, SearchMode mode, ComicView view, String cursor, int size);
+    Mono<ComicPageDTO> findComicsByAutorId(String autorId, ComicView view, String cursor, int size);
+    Mono<ComicPageDTO> findComicsByAnioPublicacion(int anioPublicacion, ComicView view, String cursor, int size);
+    Mono<ComicPageDTO> findComicsByGenero(String genero, ComicView view, String cursor, int size);
+    Flux<ComicDTO> streamAllComics(ComicView view);
+}
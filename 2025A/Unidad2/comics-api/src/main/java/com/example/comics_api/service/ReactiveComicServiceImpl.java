@@ -0,0 +1,114 @@
+package com.example.comics_api.service;
+
+import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.dto.ComicPageDTO;
+import com.example.comics_api.mapper.DtoMapper;
+import com.example.comics_api.model.Comic;
+import com.example.comics_api.repository.AutorSummary;
+import com.example.comics_api.repository.ReactiveAutorRepository;
+import com.example.comics_api.repository.ReactiveComicRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.CriteriaDefinition;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("reactive")
+public class ReactiveComicServiceImpl implements IReactiveComicService {
+
+    // Cómics cuyos autores se resuelven con una misma consulta $in
+    private static final int AUTOR_BATCH_SIZE = 500;
+
+    @Autowired
+    private ReactiveComicRepository comicRepository;
+
+    @Autowired
+    private ReactiveAutorRepository autorRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
+    @Override
+    public Mono<ComicDTO> findComicById(String id) {
+        return comicRepository.findById(id)
+                .flatMap(comic -> {
+                    if (comic.getAutorId() == null) {
+                        return Mono.just(dtoMapper.toDTO(comic, null));
+                    }
+                    return autorRepository.findById(comic.getAutorId())
+                            .map(autor -> dtoMapper.toDTO(comic, dtoMapper.toEmbeddedDTO(dtoMapper.toDTO(autor))))
+                            .defaultIfEmpty(dtoMapper.toDTO(comic, null));
+                });
+    }
+
+    @Override
+    public Mono<ComicPageDTO> findAllComics(ComicView view, String cursor, int size) {
+        return findPage(null, view, cursor, size);
+    }
+
+    @Override
+    public Mono<ComicPageDTO> findComicsByTitulo(String titulo, SearchMode mode, ComicView view, String cursor, int size) {
+        return findPage(ComicQueries.titulo(titulo, mode), view, cursor, size);
+    }
+
+    @Override
+    public Mono<ComicPageDTO> findComicsByAutorId(String autorId, ComicView view, String cursor, int size) {
+        return findPage(Criteria.where("autorId").is(autorId), view, cursor, size);
+    }
+
+    @Override
+    public Mono<ComicPageDTO> findComicsByAnioPublicacion(int anioPublicacion, ComicView view, String cursor, int size) {
+        return findPage(Criteria.where("anioPublicacion").is(anioPublicacion), view, cursor, size);
+    }
+
+    @Override
+    public Mono<ComicPageDTO> findComicsByGenero(String genero, ComicView view, String cursor, int size) {
+        return findPage(Criteria.where("generos").is(genero), view, cursor, size);
+    }
+
+    @Override
+    public Flux<ComicDTO> streamAllComics(ComicView view) {
+        return convertToDTOs(mongoTemplate.find(ComicQueries.all(view), Comic.class));
+    }
+
+    private Mono<ComicPageDTO> findPage(CriteriaDefinition filter, ComicView view, String cursor, int size) {
+        return mongoTemplate.find(ComicQueries.page(filter, view, cursor, size), Comic.class)
+                .collectList()
+                .flatMap(comics -> {
+                    List<Comic> page = comics.size() > size ? comics.subList(0, size) : comics;
+                    String nextCursor = comics.size() > size ? page.get(size - 1).getId() : null;
+                    return convertToDTOs(Flux.fromIterable(page))
+                            .collectList()
+                            .map(content -> new ComicPageDTO(content, nextCursor));
+                });
+    }
+
+    // Agrupa los cómics en lotes y resuelve los autores de cada lote con una
+    // sola consulta $in (sin biografía), conservando el orden de los cómics.
+    private Flux<ComicDTO> convertToDTOs(Flux<Comic> comics) {
+        return comics.buffer(AUTOR_BATCH_SIZE).concatMap(batch -> {
+            Set<String> autorIds = batch.stream()
+                    .map(Comic::getAutorId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            if (autorIds.isEmpty()) {
+                return Flux.fromIterable(batch).map(comic -> dtoMapper.toDTO(comic, null));
+            }
+            return autorRepository.findByIdIn(autorIds)
+                    .collectMap(AutorSummary::getId, dtoMapper::toDTO)
+                    .flatMapMany(autores -> Flux.fromIterable(batch)
+                            .map(comic -> dtoMapper.toDTO(comic, autores.get(comic.getAutorId()))));
+        });
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.comics_api.service;
+
+import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.dto.ComicFacetPageDTO;
+import com.example.comics_api.dto.ComicPageDTO;
+import com.example.comics_api.dto.ComicPatchDTO;
+import com.example.comics_api.model.Comic;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// IComicService que responde las lecturas desde la réplica en memoria
+// (ComicReplica) sin consultar Mongo; las escrituras van a ComicServiceImpl y
+// llegan a la réplica por el change stream, así que una lectura justo después
+// de una escritura puede no verla todavía (ver ComicReplica.Stats).
+// Mientras la réplica no está cargada, las lecturas también van a Mongo.
+@Service
+@Primary
+@ConditionalOnProperty(name = "comics.replica.enabled", havingValue = "true")
+public class ReplicaComicService implements IComicService {
+
+    @Autowired
+    private ComicServiceImpl comicService;
+
+    @Autowired
+    private ComicReplica replica;
+
+    @Override
+    public List<ComicDTO> findAllComics() {
+        CatalogSnapshot snapshot = replica.snapshot();
+        if (snapshot == null) {
+            return comicService.findAllComics();
+        }
+        return toDTOs(snapshot.all(), ComicView.FULL);
+    }
+
+    @Override
+    public Optional<ComicDTO> findComicById(String id) {
+        CatalogSnapshot snapshot = replica.snapshot();
+        if (snapshot == null) {
+            return comicService.findComicById(id);
+        }
+        return Optional.ofNullable(snapshot.get(id)).map(CatalogSnapshot.Entry::full);
+    }
+
+    @Override
+    public ComicDTO saveComic(Comic comic) {
+        return comicService.saveComic(comic);
+    }
+
+    @Override
+    public Optional<ComicDTO> updateComic(String id, Comic comic, Long expectedVersion) {
+        return comicService.updateComic(id, comic, expectedVersion);
+    }
+
+    @Override
+    public Optional<ComicDTO> patchComic(String id, ComicPatchDTO patch, Long expectedVersion) {
+        return comicService.patchComic(id, patch, expectedVersion);
+    }
+
+    @Override
+    public boolean deleteComic(String id) {
+        return comicService.deleteComic(id);
+    }
+
+    @Override
+    public List<ComicDTO> findComicsByTitulo(String titulo) {
+        CatalogSnapshot snapshot = replica.snapshot();
+        if (snapshot == null) {
+            return comicService.findComicsByTitulo(titulo);
+        }
+        return toDTOs(snapshot.byTitulo(titulo), ComicView.FULL);
+    }
+
+    @Override
+    public List<ComicDTO> findComicsByAutorId(String autorId) {
+        CatalogSnapshot snapshot = replica.snapshot();
+        if (snapshot == null) {
+            return comicService.findComicsByAutorId(autorId);
+        }
+        return toDTOs(snapshot.byAutorId(autorId), ComicView.FULL);
+    }
+
+    @Override
+    public List<ComicDTO> findComicsByAnioPublicacion(int anioPublicacion) {
+        CatalogSnapshot snapshot = replica.snapshot();
+        if (snapshot == null) {
+            return comicService.findComicsByAnioPublicacion(anioPublicacion);
+        }
+        return toDTOs(snapshot.byAnio(anioPublicacion), ComicView.FULL);
+    }
+
+    @Override
+    public List<ComicDTO> findComicsByGenero(String genero) {
+        CatalogSnapshot snapshot = replica.snapshot();
+        if (snapshot == null) {
+            return comicService.findComicsByGenero(genero);
+        }
+        return toDTOs(snapshot.byGenero(genero), ComicView.FULL);
+    }
+
+    @Override
+    public ComicPageDTO findAllComics(ComicView view, String cursor, int size) {
+        CatalogSnapshot snapshot = replica.snapshot();
+        if (snapshot == null) {
+            return comicService.findAllComics(view, cursor, size);
+        }
+        return page(snapshot.all(), view, cursor, size);
+    }
+
+    // TOKEN usa el índice de texto de Mongo (palabras con raíz en español),
+    // que no se reproduce en memoria: esa búsqueda sigue yendo a Mongo.
+    @Override
+    public ComicPageDTO findComicsByTitulo(String titulo, SearchMode mode, ComicView view, String cursor, int size) {
+        CatalogSnapshot snapshot = replica.snapshot();
+        if (snapshot == null || mode == SearchMode.TOKEN) {
+            return comicService.findComicsByTitulo(titulo, mode, view, cursor, size);
+        }
+        if (mode == SearchMode.CONTAINS) {
+            // Como la expresión regular con opción "i" de ComicQueries.titulo()
+            Pattern pattern = Pattern.compile(Pattern.quote(titulo), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+            return page(snapshot.all().stream()
+                    .filter(entry -> entry.comic().getTitulo() != null
+                            && pattern.matcher(entry.comic().getTitulo()).find())
+                    .collect(Collectors.toList()), view, cursor, size);
+        }
+        return page(snapshot.byTitulo(titulo), view, cursor, size);
+    }
+
+    @Override
+    public ComicPageDTO findComicsByAutorId(String autorId, ComicView view, String cursor, int size) {
+        CatalogSnapshot snapshot = replica.snapshot();
+        if (snapshot == null) {
+            return comicService.findComicsByAutorId(autorId, view, cursor, size);
+        }
+        return page(snapshot.byAutorId(autorId), view, cursor, size);
+    }
+
+    @Override
+    public ComicPageDTO findComicsByAnioPublicacion(int anioPublicacion, ComicView view, String cursor, int size) {
+        CatalogSnapshot snapshot = replica.snapshot();
+        if (snapshot == null) {
+            return comicService.findComicsByAnioPublicacion(anioPublicacion, view, cursor, size);
+        }
+        return page(snapshot.byAnio(anioPublicacion), view, cursor, size);
+    }
+
+    @Override
+    public ComicPageDTO findComicsByGenero(String genero, ComicView view, String cursor, int size) {
+        CatalogSnapshot snapshot = replica.snapshot();
+        if (snapshot == null) {
+            return comicService.findComicsByGenero(genero, view, cursor, size);
+        }
+        return page(snapshot.byGenero(genero), view, cursor, size);
+    }
+
+    @Override
+    public ComicPageDTO searchComics(ComicFilter filter, ComicSort sort, Sort.Direction direction,
+                                     ComicView view, String cursor, int size) {
+        CatalogSnapshot snapshot = replica.snapshot();
+        if (snapshot == null) {
+            return comicService.searchComics(filter, sort, direction, view, cursor, size);
+        }
+        ComicQueries.Position after = cursor == null ? null : ComicQueries.position(sort, cursor);
+        List<CatalogSnapshot.Entry> entries = snapshot.search(filter, sort, direction.isAscending(), after, size + 1);
+        String nextCursor = null;
+        if (entries.size() > size) {
+            entries = entries.subList(0, size);
+            nextCursor = ComicQueries.cursor(entries.get(size - 1).comic(), sort);
+        }
+        return new ComicPageDTO(toDTOs(entries, view), nextCursor);
+    }
+
+    // Los recuentos se calculan en una pasada sobre los cómics del filtro, sin FacetCache
+    @Override
+    public ComicFacetPageDTO findComicsWithFacets(ComicFilter filter, ComicView view, String cursor, int size) {
+        CatalogSnapshot snapshot = replica.snapshot();
+        if (snapshot == null) {
+            return comicService.findComicsWithFacets(filter, view, cursor, size);
+        }
+        List<CatalogSnapshot.Entry> matching = snapshot.matching(filter);
+        ComicPageDTO page = page(matching, view, cursor, size);
+        return new ComicFacetPageDTO(page.content(), page.nextCursor(), CatalogSnapshot.facetas(matching));
+    }
+
+    @Override
+    public void streamAllComics(ComicView view, Consumer<ComicDTO> consumer) {
+        CatalogSnapshot snapshot = replica.snapshot();
+        if (snapshot == null) {
+            comicService.streamAllComics(view, consumer);
+            return;
+        }
+        snapshot.all().forEach(entry -> consumer.accept(entry.view(view)));
+    }
+
+    // Página de una lista ordenada por _id a partir del _id del cursor
+    private static ComicPageDTO page(List<CatalogSnapshot.Entry> byId, ComicView view, String cursor, int size) {
+        int from = cursor == null ? 0 : CatalogSnapshot.indexAfter(byId, cursor);
+        int to = Math.min(byId.size(), from + size);
+        String nextCursor = to < byId.size() && to > from ? byId.get(to - 1).id() : null;
+        return new ComicPageDTO(toDTOs(byId.subList(from, to), view), nextCursor);
+    }
+
+    private static List<ComicDTO> toDTOs(List<CatalogSnapshot.Entry> entries, ComicView view) {
+        return entries.stream()
+                .map(entry -> entry.view(view))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.comics_api.service;
+
+// Modos de búsqueda por texto
+public enum SearchMode {
+    PREFIX,   // Prefijo sobre el campo normalizado (índice B-tree)
+    TOKEN,    // Palabras completas mediante el índice de texto ($text)
+    CONTAINS  // Subcadena en cualquier posición (recorre la colección, no usa índice)
+}
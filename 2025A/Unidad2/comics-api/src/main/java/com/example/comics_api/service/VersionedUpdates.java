@@ -0,0 +1,62 @@
+package com.example.comics_api.service;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+// Escrituras con control de concurrencia optimista, compartidas por cómics y
+// autores: el filtro lleva la versión esperada y la actualización la
+// incrementa en la misma operación atómica, sin bloqueos ni lecturas previas.
+// Si otro escritor se adelantó, el filtro no encuentra el documento.
+final class VersionedUpdates {
+
+    private VersionedUpdates() {
+    }
+
+    // Sin versión esperada la escritura es incondicional (gana la última)
+    static Query byId(String id, Long expectedVersion) {
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+        return new Query(criteria);
+    }
+
+    static Update update() {
+        return new Update().inc("version", 1);
+    }
+
+    // PUT: los campos que faltan se borran del documento
+    static void setOrUnset(Update update, String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+        } else {
+            update.unset(field);
+        }
+    }
+
+    // PATCH: solo se escriben los campos presentes
+    static void setIfPresent(Update update, String field, Object value) {
+        if (value != null) {
+            update.set(field, value);
+        }
+    }
+
+    // Se llama cuando la escritura no encontró el documento: si existe, es que
+    // su versión ya no es la esperada.
+    static void checkConflict(MongoOperations mongoOperations, String id, Long expectedVersion, Class<?> entityClass) {
+        if (expectedVersion != null
+                && mongoOperations.exists(new Query(Criteria.where("_id").is(id)), entityClass)) {
+            throw new OptimisticLockingFailureException(
+                    "El documento " + id + " ya no está en la versión " + expectedVersion);
+        }
+    }
+
+    // Versión tras el $inc a partir del documento anterior; $inc sobre un
+    // campo que no existe lo deja en 1.
+    static long nextVersion(Long previousVersion) {
+        return previousVersion == null ? 1 : previousVersion + 1;
+    }
+}
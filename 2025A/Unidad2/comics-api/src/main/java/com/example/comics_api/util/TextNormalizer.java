@@ -0,0 +1,24 @@
+package com.example.comics_api.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Normaliza textos para búsquedas por prefijo: minúsculas y sin tildes, de modo
+// que una expresión regular anclada (^...) sobre el campo normalizado pueda
+// usar un índice B-tree en lugar de recorrer toda la colección.
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private TextNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(text.trim(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,8 +2,14 @@ package com.example.comics_api;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
 
+// Al arrancar, MongoIndexInitializer crea los índices: el contexto necesita
+// un MongoDB, el del contenedor, nunca el de Atlas
 @SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
 class ComicsApiApplicationTests {
 
 	@Test
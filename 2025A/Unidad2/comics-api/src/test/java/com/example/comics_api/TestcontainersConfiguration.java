@@ -0,0 +1,23 @@
+package com.example.comics_api;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+// MongoDB en un contenedor para los tests que necesitan una base de datos
+// real: @ServiceConnection sustituye la URI de Atlas de application.properties
+// por la del contenedor. Arranca como replica set de un nodo (rs0), así que
+// también admite change streams. Los tests que lo importan se marcan con
+// @Testcontainers(disabledWithoutDocker = true): sin Docker no se ejecutan.
+@TestConfiguration(proxyBeanMethods = false)
+public class TestcontainersConfiguration {
+
+	@Bean
+	@ServiceConnection
+	MongoDBContainer mongoDbContainer() {
+		return new MongoDBContainer(DockerImageName.parse("mongo:7.0"));
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.example.comics_api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.regex.Pattern;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import com.example.comics_api.TestcontainersConfiguration;
+import com.mongodb.client.model.Filters;
+
+// Comprueba con explain() que cada consulta de los repositorios se resuelve
+// con un recorrido de índice (IXSCAN) y no recorriendo la colección. Crear
+// los índices y rellenar los campos normalizados escribe en la base de datos:
+// se hace en el MongoDB del contenedor, nunca en Atlas.
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class MongoIndexInitializerTests {
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private MongoIndexInitializer indexInitializer;
+
+	@BeforeEach
+	void setUp() {
+		indexInitializer.initIndexes();
+	}
+
+	@Test
+	void comicFindersUseIndexes() {
+		assertUsesIndex("Comics", Filters.eq("autorId", "000000000000000000000000"));
+		assertUsesIndex("Comics", Filters.eq("anioPublicacion", 1986));
+		assertUsesIndex("Comics", Filters.eq("generos", "Ciencia ficción"));
+		assertUsesIndex("Comics", Filters.regex("tituloNormalizado", Pattern.compile("^watch")));
+		assertUsesIndex("Comics", Filters.eq("editorial", "DC"));
+	}
+
+	@Test
+	void combinedSearchUsesCompoundIndexes() {
+		assertUsesIndex("Comics", Filters.and(Filters.eq("autorId", "000000000000000000000000"),
+				Filters.gte("anioPublicacion", 1980), Filters.lte("anioPublicacion", 1989)));
+		assertUsesIndex("Comics", Filters.and(Filters.eq("editorial", "DC"), Filters.gte("anioPublicacion", 1980)));
+		assertUsesIndex("Comics", Filters.and(Filters.all("generos", "Drama", "Misterio"), Filters.lte("anioPublicacion", 1999)));
+	}
+
+	@Test
+	void autorFindersUseIndexes() {
+		assertUsesIndex("Autores", Filters.eq("nacionalidad", "Británico"));
+		assertUsesIndex("Autores", Filters.regex("nombreNormalizado", Pattern.compile("^ala")));
+	}
+
+	private void assertUsesIndex(String collection, Bson filter) {
+		Document plan = mongoTemplate.getCollection(collection).find(filter).explain()
+				.get("queryPlanner", Document.class)
+				.get("winningPlan", Document.class);
+		assertThat(plan.toJson()).contains("\"IXSCAN\"").doesNotContain("\"COLLSCAN\"");
+	}
+
+}
@@ -0,0 +1,130 @@
+package com.example.comics_api.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.comics_api.dto.AutorDTO;
+import com.example.comics_api.dto.AutorPatchDTO;
+import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.service.IAutorService;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(AutorController.class)
+class AutorControllerTests {
+
+	private static final String ID = "65f000000000000000000001";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private IAutorService autorService;
+
+	@Test
+	void getAutorSendsVersionAsStrongETag() throws Exception {
+		when(autorService.findAutorById(ID)).thenReturn(Optional.of(autor(3L, null)));
+
+		mockMvc.perform(get("/api/autores/{id}", ID))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+				.andExpect(jsonPath("$.nombre").value("Alan"))
+				.andExpect(jsonPath("$.version").doesNotExist());
+	}
+
+	@Test
+	void matchingIfNoneMatchReturnsNotModifiedWithoutBody() throws Exception {
+		when(autorService.findAutorById(ID)).thenReturn(Optional.of(autor(3L, null)));
+
+		mockMvc.perform(get("/api/autores/{id}", ID).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	void staleIfNoneMatchReturnsNewBody() throws Exception {
+		when(autorService.findAutorById(ID)).thenReturn(Optional.of(autor(4L, null)));
+
+		mockMvc.perform(get("/api/autores/{id}", ID).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+	}
+
+	@Test
+	void includeComicsETagChangesWithComics() throws Exception {
+		ComicDTO watchmen = new ComicDTO("c1", "Watchmen", 1986, "DC", null, List.of(), null, 0L);
+		ComicDTO vendetta = new ComicDTO("c2", "V de Vendetta", 1988, "DC", null, List.of(), null, 0L);
+		when(autorService.findAutorWithComics(ID))
+				.thenReturn(Optional.of(autor(3L, List.of(watchmen))))
+				.thenReturn(Optional.of(autor(3L, List.of(watchmen, vendetta))));
+
+		String eTag = mockMvc.perform(get("/api/autores/{id}", ID).param("include", "comics"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.numComics").value(1))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/autores/{id}", ID).param("include", "comics")
+						.header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.numComics").value(2));
+	}
+
+	@Test
+	void patchWithIfMatchPassesExpectedVersion() throws Exception {
+		when(autorService.patchAutor(eq(ID), any(AutorPatchDTO.class), eq(3L)))
+				.thenReturn(Optional.of(autor(4L, null)));
+
+		mockMvc.perform(patch("/api/autores/{id}", ID).header(HttpHeaders.IF_MATCH, "\"3\"")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"nacionalidad\":\"Británico\"}"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+	}
+
+	@Test
+	void staleIfMatchIsConflict() throws Exception {
+		when(autorService.patchAutor(eq(ID), any(AutorPatchDTO.class), eq(3L)))
+				.thenThrow(new OptimisticLockingFailureException("versión antigua"));
+
+		mockMvc.perform(patch("/api/autores/{id}", ID).header(HttpHeaders.IF_MATCH, "\"3\"")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"nacionalidad\":\"Británico\"}"))
+				.andExpect(status().isConflict());
+	}
+
+	@Test
+	void malformedIfMatchIsBadRequest() throws Exception {
+		mockMvc.perform(patch("/api/autores/{id}", ID).header(HttpHeaders.IF_MATCH, "W/\"3\"")
+						.contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void unknownAutorIsNotFound() throws Exception {
+		when(autorService.findAutorById(ID)).thenReturn(Optional.empty());
+
+		mockMvc.perform(get("/api/autores/{id}", ID))
+				.andExpect(status().isNotFound());
+	}
+
+	private static AutorDTO autor(Long version, List<ComicDTO> comics) {
+		return new AutorDTO(ID, "Alan", "Moore", "Británico", "1953-11-18", null,
+				comics, comics == null ? null : comics.size(), version);
+	}
+
+}
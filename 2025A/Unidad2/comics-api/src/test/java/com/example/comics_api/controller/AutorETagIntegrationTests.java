@@ -0,0 +1,99 @@
+package com.example.comics_api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.comics_api.TestcontainersConfiguration;
+import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.model.Autor;
+import com.example.comics_api.model.Comic;
+import com.example.comics_api.service.IComicService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+// Guardar un cómic cambia la lista comicsIds de su autor, y con ella su
+// versión: el ETag que se sirve después tiene que ser el nuevo, aunque el
+// autor estuviera en caché, para que un If-Match con él no dé 409.
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class AutorETagIntegrationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private IComicService comicService;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	private Autor autor;
+
+	@BeforeEach
+	void setUp() {
+		autor = new Autor();
+		autor.setNombre("Autor de prueba del ETag");
+		autor = mongoTemplate.insert(autor);
+	}
+
+	@AfterEach
+	void tearDown() {
+		mongoTemplate.remove(new Query(Criteria.where("autorId").is(autor.getId())), Comic.class);
+		mongoTemplate.remove(autor);
+	}
+
+	@Test
+	void patchWithETagServedAfterSavingComicSucceeds() throws Exception {
+		// Deja el autor en caché con la versión anterior al cómic
+		eTag();
+
+		comicService.saveComic(comic("Cómic del ETag"));
+		String eTag = eTag();
+
+		mockMvc.perform(patch("/api/autores/{id}", autor.getId()).header(HttpHeaders.IF_MATCH, eTag)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"nacionalidad\":\"Española\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.nacionalidad").value("Española"));
+	}
+
+	@Test
+	void comicEditsWithoutChangingAuthorKeepItsVersion() throws Exception {
+		ComicDTO comic = comicService.saveComic(comic("Cómic sin cambio de autor"));
+		Long version = mongoTemplate.findById(autor.getId(), Autor.class).getVersion();
+
+		Comic editado = comic("Cómic sin cambio de autor, editado");
+		assertThat(comicService.updateComic(comic.id(), editado, comic.version())).isPresent();
+
+		assertThat(mongoTemplate.findById(autor.getId(), Autor.class).getVersion()).isEqualTo(version);
+	}
+
+	private String eTag() throws Exception {
+		return mockMvc.perform(get("/api/autores/{id}", autor.getId()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+	}
+
+	private Comic comic(String titulo) {
+		Comic comic = new Comic();
+		comic.setTitulo(titulo);
+		comic.setAutorId(autor.getId());
+		return comic;
+	}
+}
@@ -0,0 +1,72 @@
+package com.example.comics_api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.dto.ComicPageDTO;
+import com.example.comics_api.service.ComicView;
+import com.example.comics_api.service.IComicService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+// El mismo listado se sirve como JSON, CBOR o Smile según la cabecera Accept
+@WebMvcTest(ComicController.class)
+class ComicControllerTests {
+
+	private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private IComicService comicService;
+
+	@BeforeEach
+	void setUp() {
+		ComicDTO watchmen = new ComicDTO("c1", "Watchmen", 1986, "DC", "Sinopsis", List.of("Drama"), null, 3L);
+		when(comicService.findAllComics(ComicView.FULL, null, 100)).thenReturn(new ComicPageDTO(List.of(watchmen), null));
+	}
+
+	@Test
+	void listIsJsonByDefault() throws Exception {
+		mockMvc.perform(get("/api/comics/").header(HttpHeaders.ACCEPT, "*/*"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$[0].titulo").value("Watchmen"));
+	}
+
+	@Test
+	void listIsNegotiatedAsCborOrSmile() throws Exception {
+		assertBinaryList(MediaType.APPLICATION_CBOR, new CBORMapper());
+		assertBinaryList(SMILE, new SmileMapper());
+	}
+
+	private void assertBinaryList(MediaType mediaType, ObjectMapper reader) throws Exception {
+		byte[] body = mockMvc.perform(get("/api/comics/").accept(mediaType))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(mediaType))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		JsonNode comics = reader.readTree(body);
+		assertThat(comics.get(0).get("titulo").asText()).isEqualTo("Watchmen");
+		assertThat(comics.get(0).get("generos").get(0).asText()).isEqualTo("Drama");
+		assertThat(comics.get(0).has("version")).isFalse();
+		assertThat(comics.get(0).has("autor")).isFalse();
+	}
+}
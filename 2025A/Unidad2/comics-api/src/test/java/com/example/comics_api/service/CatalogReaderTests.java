@@ -0,0 +1,65 @@
+package com.example.comics_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class CatalogReaderTests {
+
+	private static final Path CATALOGO = Path.of("../ComicsLibraryData.json");
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+	@Test
+	void readsAuthorsAndComicsOneAtATime() throws IOException {
+		List<String> nombres = new ArrayList<>();
+		try (CatalogReader reader = new CatalogReader(objectMapper, Files.newInputStream(CATALOGO))) {
+			CatalogReader.Entry entry;
+			while ((entry = reader.next()) != null) {
+				nombres.add(name(entry));
+			}
+		}
+
+		assertThat(nombres).hasSize(33).startsWith("Jean").endsWith("In the Shadow of No Towers");
+	}
+
+	@Test
+	void resumesFromEveryOffset() throws IOException {
+		List<String> nombres = new ArrayList<>();
+		List<Long> offsets = new ArrayList<>();
+		try (CatalogReader reader = new CatalogReader(objectMapper, Files.newInputStream(CATALOGO))) {
+			CatalogReader.Entry entry;
+			while ((entry = reader.next()) != null) {
+				nombres.add(name(entry));
+				offsets.add(reader.offset());
+			}
+		}
+
+		for (int i = 0; i < offsets.size(); i++) {
+			List<String> resto = new ArrayList<>();
+			try (InputStream in = Files.newInputStream(CATALOGO);
+					CatalogReader reader = CatalogReader.resume(objectMapper, in, offsets.get(i))) {
+				CatalogReader.Entry entry;
+				while ((entry = reader.next()) != null) {
+					resto.add(name(entry));
+				}
+			}
+			assertThat(resto).as("desde el byte %d", offsets.get(i)).isEqualTo(nombres.subList(i + 1, nombres.size()));
+		}
+	}
+
+	private static String name(CatalogReader.Entry entry) {
+		if (entry instanceof CatalogReader.AutorEntry autor) {
+			return autor.autor().getNombre();
+		}
+		return ((CatalogReader.ComicEntry) entry).comic().getTitulo();
+	}
+}
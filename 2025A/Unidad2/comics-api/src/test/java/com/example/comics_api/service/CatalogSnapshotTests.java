@@ -0,0 +1,158 @@
+package com.example.comics_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.comics_api.dto.AnioBucketDTO;
+import com.example.comics_api.dto.FacetCountDTO;
+import com.example.comics_api.dto.FacetasDTO;
+import com.example.comics_api.mapper.DtoMapperImpl;
+import com.example.comics_api.model.Autor;
+import com.example.comics_api.model.Comic;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CatalogSnapshotTests {
+
+	private CatalogSnapshot snapshot;
+	private Autor autor;
+	private List<Comic> comics;
+
+	@BeforeEach
+	void setUp() {
+		autor = autor("a1", "Alan");
+		autor.setBiografia("No se embebe");
+		comics = List.of(
+				comic(3, "Watchmen", 1986, "DC", "a1", "Drama", "Misterio"),
+				comic(1, "V de Vendetta", 1988, "Vertigo", "a1", "Drama"),
+				comic(4, "Wáshington", 1986, "DC", "a2", "Historia"),
+				comic(2, "El Incal", 1981, null, "a2", "Ciencia ficción", "Drama"),
+				comic(5, "Whiteout", 1998, "Oni", null));
+		snapshot = CatalogSnapshot.build(comics, List.of(autor), new DtoMapperImpl());
+	}
+
+	@Test
+	void indexesAreOrderedByIdAndEmbedTheAuthor() {
+		assertThat(ids(snapshot.all())).containsExactly(id(1), id(2), id(3), id(4), id(5));
+		assertThat(ids(snapshot.byAutorId("a1"))).containsExactly(id(1), id(3));
+		assertThat(ids(snapshot.byAnio(1986))).containsExactly(id(3), id(4));
+		assertThat(ids(snapshot.byGenero("Drama"))).containsExactly(id(1), id(2), id(3));
+		assertThat(ids(snapshot.byTitulo("WA"))).containsExactly(id(3), id(4));
+
+		CatalogSnapshot.Entry watchmen = snapshot.get(id(3));
+		assertThat(watchmen.full().autor().nombre()).isEqualTo("Alan");
+		assertThat(watchmen.full().autor().biografia()).isNull();
+		assertThat(watchmen.full().sinopsis()).isNotNull();
+		assertThat(watchmen.summary().sinopsis()).isNull();
+	}
+
+	// Recorrer todas las páginas con el cursor de la anterior da el mismo orden
+	// que Mongo: título descendente y, a igualdad, _id descendente
+	@Test
+	void searchPagesWithCursorInEitherDirection() {
+		ComicFilter all = new ComicFilter(null, null, null, null, null, null, null);
+		assertThat(titulos(searchAll(all, ComicSort.TITULO, false)))
+				.containsExactly("Whiteout", "Watchmen", "Wáshington", "V de Vendetta", "El Incal");
+		assertThat(ids(searchAll(all, ComicSort.ANIO, true))).containsExactly(id(2), id(3), id(4), id(1), id(5));
+
+		ComicFilter filtrado = new ComicFilter("w", null, List.of("Historia", "Misterio"), GenreMatch.ANY, 1980, 1990, "DC");
+		assertThat(ids(searchAll(filtrado, ComicSort.ID, false))).containsExactly(id(4), id(3));
+		ComicFilter generos = new ComicFilter(null, null, List.of("Misterio", "Drama"), null, null, null, null);
+		assertThat(ids(searchAll(generos, ComicSort.ANIO, false))).containsExactly(id(3));
+	}
+
+	@Test
+	void facetsCountEveryMatchingComic() {
+		FacetasDTO facetas = CatalogSnapshot.facetas(
+				snapshot.matching(new ComicFilter(null, null, List.of("Drama"), null, null, null, null)));
+
+		assertThat(facetas.total()).isEqualTo(3);
+		assertThat(facetas.generos()).containsExactly(new FacetCountDTO("Drama", 3),
+				new FacetCountDTO("Ciencia ficción", 1), new FacetCountDTO("Misterio", 1));
+		assertThat(facetas.anios()).containsExactly(new AnioBucketDTO(1980, 1989, 3));
+		assertThat(facetas.editoriales()).containsExactly(new FacetCountDTO("DC", 1), new FacetCountDTO("Vertigo", 1));
+	}
+
+	// Aplicar cambios al snapshot da lo mismo que construirlo de nuevo, y las
+	// entradas no afectadas se reutilizan
+	@Test
+	void updateMatchesFullRebuild() {
+		Map<String, Comic> comicsCambiados = new HashMap<>();
+		comicsCambiados.put(id(2), null);
+		comicsCambiados.put(id(4), comic(4, "Aaa", 1986, "DC", "a1", "Historia"));
+		comicsCambiados.put(id(6), comic(6, "Ronin", 1983, "DC", "a2", "Acción"));
+		Map<String, Autor> autoresCambiados = Map.of("a1", autor("a1", "Alan Oswald"), "a2", autor("a2", "Frank"));
+
+		CatalogSnapshot actualizado = snapshot.update(comicsCambiados, autoresCambiados, new DtoMapperImpl());
+
+		List<Comic> todos = new ArrayList<>(comics);
+		todos.removeIf(comic -> comicsCambiados.containsKey(comic.getId()));
+		comicsCambiados.values().stream().filter(comic -> comic != null).forEach(todos::add);
+		CatalogSnapshot reconstruido = CatalogSnapshot.build(todos, autoresCambiados.values(), new DtoMapperImpl());
+
+		assertThat(actualizado.all()).isEqualTo(reconstruido.all());
+		assertThat(actualizado.byTitulo("")).isEqualTo(reconstruido.byTitulo(""));
+		ComicFilter all = new ComicFilter(null, null, null, null, null, null, null);
+		assertThat(actualizado.search(all, ComicSort.TITULO, true, null, 10))
+				.isEqualTo(reconstruido.search(all, ComicSort.TITULO, true, null, 10));
+		assertThat(ids(actualizado.byAutorId("a1"))).containsExactly(id(1), id(3), id(4));
+		assertThat(ids(actualizado.byAutorId("a2"))).containsExactly(id(6));
+		assertThat(actualizado.get(id(1)).full().autor().nombre()).isEqualTo("Alan Oswald");
+		assertThat(actualizado.get(id(6)).full().autor().nombre()).isEqualTo("Frank");
+		assertThat(actualizado.autores()).isEqualTo(2);
+		// Whiteout no tiene autor ni ha cambiado: la misma entrada
+		assertThat(actualizado.get(id(5))).isSameAs(snapshot.get(id(5)));
+		// El snapshot anterior no cambia
+		assertThat(ids(snapshot.all())).containsExactly(id(1), id(2), id(3), id(4), id(5));
+		assertThat(snapshot.get(id(1)).full().autor().nombre()).isEqualTo("Alan");
+	}
+
+	// Pide páginas de dos en dos hasta que no hay cursor siguiente
+	private List<CatalogSnapshot.Entry> searchAll(ComicFilter filter, ComicSort sort, boolean asc) {
+		List<CatalogSnapshot.Entry> result = new ArrayList<>();
+		ComicQueries.Position after = null;
+		while (true) {
+			List<CatalogSnapshot.Entry> page = snapshot.search(filter, sort, asc, after, 3);
+			result.addAll(page.subList(0, Math.min(2, page.size())));
+			if (page.size() < 3) {
+				return result;
+			}
+			after = ComicQueries.position(sort, ComicQueries.cursor(page.get(1).comic(), sort));
+		}
+	}
+
+	private static Autor autor(String id, String nombre) {
+		Autor autor = new Autor();
+		autor.setId(id);
+		autor.setNombre(nombre);
+		return autor;
+	}
+
+	private static Comic comic(int n, String titulo, int anio, String editorial, String autorId, String... generos) {
+		Comic comic = new Comic();
+		comic.setId(id(n));
+		comic.setTitulo(titulo);
+		comic.setAnioPublicacion(anio);
+		comic.setEditorial(editorial);
+		comic.setSinopsis("Sinopsis de " + titulo);
+		comic.setAutorId(autorId);
+		comic.setGeneros(List.of(generos));
+		comic.setVersion(0L);
+		return comic;
+	}
+
+	private static String id(int n) {
+		return String.format("65f0000000000000000000%02d", n);
+	}
+
+	private static List<String> ids(List<CatalogSnapshot.Entry> entries) {
+		return entries.stream().map(CatalogSnapshot.Entry::id).toList();
+	}
+
+	private static List<String> titulos(List<CatalogSnapshot.Entry> entries) {
+		return entries.stream().map(entry -> entry.comic().getTitulo()).toList();
+	}
+}
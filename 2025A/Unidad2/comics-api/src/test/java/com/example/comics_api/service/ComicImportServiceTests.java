@@ -0,0 +1,197 @@
+package com.example.comics_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.example.comics_api.dto.ImportReportDTO;
+import com.example.comics_api.model.Autor;
+import com.example.comics_api.model.Comic;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ComicImportServiceTests {
+
+	@Mock
+	private MongoTemplate mongoTemplate;
+
+	@Mock
+	private FacetCache facetCache;
+
+	@Mock
+	private AutorCache autorCache;
+
+	@InjectMocks
+	private ComicImportService importService;
+
+	private final List<Autor> autores = new ArrayList<>();
+	private final List<Comic> comics = new ArrayList<>();
+	private int lotes;
+	private int referencias;
+	private int fallarEnLote = Integer.MAX_VALUE;
+
+	@TempDir
+	private Path tempDir;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(importService, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+		ReflectionTestUtils.setField(importService, "defaultBatchSize", 5);
+		ReflectionTestUtils.setField(importService, "maxInFlight", 2);
+		when(mongoTemplate.find(any(Query.class), eq(Autor.class))).thenReturn(List.of());
+		when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), any(Class.class))).thenAnswer(invocation -> {
+			BulkOperations bulk = mock(BulkOperations.class, withSettings().strictness(Strictness.LENIENT));
+			BulkWriteResult result = mock(BulkWriteResult.class);
+			List<Object> documents = new ArrayList<>();
+			when(bulk.insert(anyList())).thenAnswer(insert -> {
+				documents.addAll(insert.getArgument(0));
+				return bulk;
+			});
+			when(bulk.updateOne(any(Query.class), any(Update.class))).thenAnswer(update -> {
+				Update.Modifier each = (Update.Modifier) update.<Update>getArgument(1).getUpdateObject()
+						.get("$addToSet", Document.class).get("comicsIds");
+				referencias += ((Object[]) each.getValue()).length;
+				return bulk;
+			});
+			int[] insertados = new int[1];
+			when(bulk.execute()).thenAnswer(execute -> {
+				if (++lotes == fallarEnLote) {
+					throw new DataAccessResourceFailureException("Mongo no disponible");
+				}
+				// Como Mongo, rechaza los _id que ya existen e inserta el resto
+				List<BulkWriteError> errores = new ArrayList<>();
+				for (int i = 0; i < documents.size(); i++) {
+					if (documents.get(i) instanceof Autor autor) {
+						autores.add(autor);
+					} else if (comics.stream().map(Comic::getId).toList().contains(((Comic) documents.get(i)).getId())) {
+						errores.add(new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), i));
+					} else {
+						comics.add((Comic) documents.get(i));
+					}
+				}
+				insertados[0] = documents.size() - errores.size();
+				if (!errores.isEmpty()) {
+					throw new BulkOperationException(errores.get(0).getMessage(),
+							new MongoBulkWriteException(result, errores, null, new ServerAddress(), Set.of()));
+				}
+				return result;
+			});
+			when(result.getInsertedCount()).thenAnswer(count -> insertados[0]);
+			return bulk;
+		});
+	}
+
+	@Test
+	void importsSampleCatalogResolvingAuthorsByName() throws Exception {
+		ImportReportDTO report;
+		try (InputStream in = Files.newInputStream(Path.of("../ComicsLibraryData.json"))) {
+			report = importService.importCatalog(in, 5);
+		}
+
+		assertThat(report.autores()).isEqualTo(10);
+		assertThat(report.comics()).isEqualTo(comics.size()).isPositive();
+		assertThat(report.comicsSinAutor()).isZero();
+		// Dos lotes de autores y, por cada lote de cómics, la inserción y el $addToSet en sus autores
+		assertThat(lotes).isEqualTo(2 + 2 * ((comics.size() + 4) / 5));
+		assertThat(referencias).isEqualTo(comics.size());
+
+		String moebius = autores.stream()
+				.filter(autor -> autor.getApellido().equals("Giraud"))
+				.findFirst().orElseThrow().getId();
+		assertThat(comics).filteredOn(comic -> comic.getTitulo().equals("El Incal"))
+				.singleElement().satisfies(comic -> assertThat(comic.getAutorId()).isEqualTo(moebius));
+		assertThat(comics).allSatisfy(comic -> assertThat(comic.getAutorId()).isIn(autores.stream().map(Autor::getId).toList()));
+		// El $addToSet cambia la versión de los autores: no pueden quedarse en caché
+		comics.stream().map(Comic::getAutorId).distinct()
+				.forEach(autorId -> verify(autorCache, atLeastOnce()).invalidate(autorId));
+	}
+
+	@Test
+	void interruptedImportResumesFromCheckpoint() throws Exception {
+		Path file = Files.copy(Path.of("../ComicsLibraryData.json"), tempDir.resolve("catalogo.json"));
+		Path checkpoint = tempDir.resolve("catalogo.json.checkpoint");
+		fallarEnLote = 5; // la segunda inserción de cómics
+
+		assertThatThrownBy(() -> importService.importFile(file)).isInstanceOf(DataAccessResourceFailureException.class);
+		assertThat(checkpoint).exists();
+		int comicsAntes = comics.size();
+		assertThat(comicsAntes).isPositive();
+
+		fallarEnLote = Integer.MAX_VALUE;
+		ImportReportDTO report = importService.importFile(file);
+
+		assertThat(checkpoint).doesNotExist();
+		assertThat(report.autores()).isZero();
+		assertThat(report.comics()).isEqualTo(comics.size() - comicsAntes);
+		assertThat(report.comicsSinAutor()).isZero();
+		assertThat(comics).extracting(Comic::getTitulo).doesNotHaveDuplicates().contains("El Incal", "Maus");
+		assertThat(comics).allSatisfy(comic -> assertThat(comic.getAutorId()).isIn(autores.stream().map(Autor::getId).toList()));
+	}
+
+	@Test
+	void backToBackImportsOfSameFileUseDifferentIds() throws Exception {
+		Path file = Files.copy(Path.of("../ComicsLibraryData.json"), tempDir.resolve("catalogo.json"));
+
+		ImportReportDTO primera = importService.importFile(file);
+		ImportReportDTO segunda = importService.importFile(file);
+
+		// Mismo fichero, mismas posiciones: solo la base distingue los ids
+		assertThat(primera.errores()).isZero();
+		assertThat(segunda.errores()).isZero();
+		assertThat(segunda.comics()).isEqualTo(primera.comics()).isPositive();
+		assertThat(comics).hasSize((int) (primera.comics() + segunda.comics()))
+				.extracting(Comic::getId).doesNotHaveDuplicates();
+	}
+
+	@Test
+	void resumingReplaysUncheckpointedBatchWithoutDuplicates() throws Exception {
+		Path file = Files.copy(Path.of("../ComicsLibraryData.json"), tempDir.resolve("catalogo.json"));
+		fallarEnLote = 6; // el $addToSet del segundo lote de cómics, ya insertado pero sin checkpoint
+
+		assertThatThrownBy(() -> importService.importFile(file)).isInstanceOf(DataAccessResourceFailureException.class);
+		int comicsAntes = comics.size();
+		assertThat(comicsAntes).isEqualTo(10);
+
+		fallarEnLote = Integer.MAX_VALUE;
+		ImportReportDTO report = importService.importFile(file);
+
+		assertThat(report.errores()).isZero();
+		assertThat(report.comics()).isEqualTo(comics.size() - comicsAntes);
+		assertThat(comics).extracting(Comic::getId).doesNotHaveDuplicates();
+		assertThat(comics).extracting(Comic::getTitulo).doesNotHaveDuplicates().contains("El Incal", "Maus");
+	}
+}
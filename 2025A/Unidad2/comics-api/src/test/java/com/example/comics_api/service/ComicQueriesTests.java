@@ -0,0 +1,61 @@
+package com.example.comics_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.comics_api.model.Comic;
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Query;
+
+class ComicQueriesTests {
+
+	private static final String ID = "65f000000000000000000001";
+
+	@Test
+	void filterCombinesEveryCriterionInOneQuery() {
+		ComicFilter filter = new ComicFilter("Wátch", "a1", List.of("Misterio", "Drama"), GenreMatch.ANY, 1980, 1989, "DC");
+
+		Document query = ComicQueries.filter(filter).getCriteriaObject();
+
+		assertThat(query.get("tituloNormalizado").toString()).isEqualTo("^\\Qwatch\\E");
+		assertThat(query.get("autorId")).isEqualTo("a1");
+		assertThat(query.get("generos")).isEqualTo(new Document("$in", List.of("Drama", "Misterio")));
+		assertThat(query.get("anioPublicacion")).isEqualTo(new Document("$gte", 1980).append("$lte", 1989));
+		assertThat(query.get("editorial")).isEqualTo("DC");
+	}
+
+	@Test
+	void nextPageStartsAfterCursorPosition() {
+		Comic last = new Comic();
+		last.setId(ID);
+		last.setAnioPublicacion(1986);
+		String cursor = ComicQueries.cursor(last, ComicSort.ANIO);
+
+		Query query = ComicQueries.search(new ComicFilter(null, "a1", null, null, null, null, null),
+				ComicSort.ANIO, Sort.Direction.DESC, ComicView.FULL, cursor, 10);
+
+		assertThat(query.getSortObject()).isEqualTo(new Document("anioPublicacion", -1).append("_id", -1));
+		assertThat(query.getLimit()).isEqualTo(11);
+		List<Document> and = query.getQueryObject().getList("$and", Document.class);
+		assertThat(and.get(0)).isEqualTo(new Document("autorId", "a1"));
+		assertThat(and.get(1).getList("$or", Document.class)).containsExactly(
+				new Document("anioPublicacion", new Document("$lt", 1986)),
+				new Document("anioPublicacion", 1986).append("_id", new Document("$lt", new ObjectId(ID))),
+				new Document("anioPublicacion", null));
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		ComicFilter filter = new ComicFilter(null, null, null, null, null, null, null);
+
+		assertThatThrownBy(() -> ComicQueries.search(filter, ComicSort.TITULO, Sort.Direction.ASC, ComicView.FULL, "%%", 10))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> ComicQueries.search(filter, ComicSort.ID, Sort.Direction.ASC, ComicView.FULL, "no-es-un-id", 10))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.example.comics_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.dto.ComicPatchDTO;
+import com.example.comics_api.model.Autor;
+import com.example.comics_api.model.Comic;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import com.example.comics_api.TestcontainersConfiguration;
+
+// Las escrituras, tanto las del servicio como las hechas directamente en
+// Mongo, llegan a la réplica por el change stream. Los change streams
+// necesitan un replica set: el MongoDB del contenedor arranca como uno de un
+// solo nodo, y así el test nunca escribe en Atlas.
+@SpringBootTest(properties = {"comics.replica.enabled=true", "comics.replica.retry-delay=200ms"})
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class ComicReplicaTests {
+
+	private static final long TIMEOUT_MILLIS = 10_000;
+
+	@Autowired
+	private IComicService comicService;
+
+	@Autowired
+	private ComicReplica replica;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	private Autor autor;
+
+	@BeforeEach
+	void setUp() {
+		autor = new Autor();
+		autor.setNombre("Autor de prueba de la réplica");
+		autor = mongoTemplate.insert(autor);
+	}
+
+	@AfterEach
+	void tearDown() {
+		mongoTemplate.remove(new Query(Criteria.where("autorId").is(autor.getId())), Comic.class);
+		mongoTemplate.remove(autor);
+	}
+
+	@Test
+	void writesReachTheInMemoryReplica() throws Exception {
+		assertThat(comicService).isInstanceOf(ReplicaComicService.class);
+		Comic comic = new Comic();
+		comic.setTitulo("Réplica");
+		comic.setAnioPublicacion(1990);
+		comic.setAutorId(autor.getId());
+		String id = comicService.saveComic(comic).id();
+
+		ComicDTO leido = await(() -> comicService.findComicById(id), Optional::isPresent).get();
+		assertThat(leido.autor().nombre()).isEqualTo("Autor de prueba de la réplica");
+		assertThat(comicService.findComicsByAutorId(autor.getId())).extracting(ComicDTO::id).containsExactly(id);
+
+		comicService.patchComic(id, new ComicPatchDTO(null, 1991, null, null, null, null), null);
+		await(() -> comicService.findComicsByAnioPublicacion(1991).stream().anyMatch(c -> c.id().equals(id)),
+				Boolean::booleanValue);
+		assertThat(comicService.findComicsByAnioPublicacion(1990)).extracting(ComicDTO::id).doesNotContain(id);
+
+		// Un cambio del autor se ve en sus cómics embebidos
+		mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(autor.getId())),
+				new Update().set("nombre", "Renombrado"), Autor.class);
+		await(() -> comicService.findComicById(id).get().autor().nombre(), "Renombrado"::equals);
+
+		mongoTemplate.remove(new Query(Criteria.where("_id").is(id)), Comic.class);
+		await(() -> comicService.findComicById(id), Optional::isEmpty);
+
+		ComicReplica.Stats stats = replica.stats();
+		assertThat(stats.activa()).isTrue();
+		assertThat(stats.eventos()).isGreaterThanOrEqualTo(4);
+		assertThat(stats.desfaseMillis()).isLessThan(TIMEOUT_MILLIS);
+	}
+
+	// Un cómic que no se puede convertir no deja la réplica parada con el
+	// snapshot antiguo: se descarta y se recarga hasta que el documento se arregla
+	@Test
+	void unreadableDocumentFallsBackToMongoUntilReloaded() throws Exception {
+		String coleccion = mongoTemplate.getCollectionName(Comic.class);
+		ObjectId id = new ObjectId();
+		mongoTemplate.getCollection(coleccion).insertOne(new Document("_id", id)
+				.append("titulo", "Ilegible")
+				.append("anioPublicacion", "mil novecientos")
+				.append("autorId", autor.getId()));
+		await(() -> replica.stats().activa(), activa -> !activa);
+		assertThat(replica.snapshot()).isNull();
+
+		mongoTemplate.getCollection(coleccion).deleteOne(new Document("_id", id));
+		await(() -> replica.stats().activa(), Boolean::booleanValue);
+	}
+
+	// Repite la lectura hasta que cumple la condición o se agota el tiempo
+	private static <T> T await(Supplier<T> read, Predicate<T> done) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		T value = read.get();
+		while (!done.test(value) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+			value = read.get();
+		}
+		assertThat(done.test(value)).as("la réplica no recibió el cambio a tiempo").isTrue();
+		return value;
+	}
+}
@@ -0,0 +1,148 @@
+package com.example.comics_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.dto.ComicPatchDTO;
+import com.example.comics_api.model.Autor;
+import com.example.comics_api.model.Comic;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import com.example.comics_api.TestcontainersConfiguration;
+
+// Varios escritores crean y borran a la vez cómics del mismo autor: con
+// $addToSet/$pull la lista comicsIds del autor no pierde ninguna referencia
+// ni conserva las de cómics borrados. Las escrituras condicionadas a una misma
+// versión solo se aplican una vez. Se ejecuta contra el MongoDB del
+// contenedor, nunca contra Atlas.
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class ComicServiceImplConcurrencyTests {
+
+	private static final int WRITERS = 8;
+	private static final int COMICS_PER_WRITER = 25;
+
+	@Autowired
+	private IComicService comicService;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	private Autor autor;
+
+	@BeforeEach
+	void setUp() {
+		autor = new Autor();
+		autor.setNombre("Autor de prueba concurrente");
+		autor = mongoTemplate.insert(autor);
+	}
+
+	@AfterEach
+	void tearDown() {
+		mongoTemplate.remove(new Query(Criteria.where("autorId").is(autor.getId())), Comic.class);
+		mongoTemplate.remove(autor);
+	}
+
+	@Test
+	void parallelWritersKeepEveryAuthorReference() throws Exception {
+		List<String> creados = Collections.synchronizedList(new ArrayList<>());
+		runInParallel(writer -> {
+			for (int i = 0; i < COMICS_PER_WRITER; i++) {
+				creados.add(saveComic("Concurrente " + writer + "-" + i));
+			}
+		});
+
+		assertThat(comicsIds()).hasSize(WRITERS * COMICS_PER_WRITER).containsExactlyInAnyOrderElementsOf(creados);
+
+		// Cada escritor borra su parte de la mitad de los cómics mientras crea otros
+		List<String> borrados = List.copyOf(creados.subList(0, creados.size() / 2));
+		List<String> esperados = Collections.synchronizedList(new ArrayList<>(creados.subList(creados.size() / 2, creados.size())));
+		runInParallel(writer -> {
+			for (int i = writer; i < borrados.size(); i += WRITERS) {
+				assertThat(comicService.deleteComic(borrados.get(i))).isTrue();
+				esperados.add(saveComic("Concurrente nuevo " + writer + "-" + i));
+			}
+		});
+
+		assertThat(comicsIds()).containsExactlyInAnyOrderElementsOf(esperados).doesNotContainAnyElementsOf(borrados);
+	}
+
+	@Test
+	void concurrentPatchesOnSameVersionConflict() throws Exception {
+		ComicDTO comic = comicService.saveComic(comic("Concurrente con versión"));
+		AtomicInteger aplicados = new AtomicInteger();
+		AtomicInteger conflictos = new AtomicInteger();
+		runInParallel(writer -> {
+			ComicPatchDTO patch = new ComicPatchDTO(null, 2000 + writer, null, null, null, null);
+			try {
+				assertThat(comicService.patchComic(comic.id(), patch, comic.version())).isPresent();
+				aplicados.incrementAndGet();
+			} catch (OptimisticLockingFailureException e) {
+				conflictos.incrementAndGet();
+			}
+		});
+
+		assertThat(aplicados).hasValue(1);
+		assertThat(conflictos).hasValue(WRITERS - 1);
+		Comic guardado = mongoTemplate.findById(comic.id(), Comic.class);
+		assertThat(guardado.getVersion()).isEqualTo(comic.version() + 1);
+		assertThat(guardado.getTitulo()).isEqualTo("Concurrente con versión");
+	}
+
+	private String saveComic(String titulo) {
+		return comicService.saveComic(comic(titulo)).id();
+	}
+
+	private Comic comic(String titulo) {
+		Comic comic = new Comic();
+		comic.setTitulo(titulo);
+		comic.setAutorId(autor.getId());
+		return comic;
+	}
+
+	private List<String> comicsIds() {
+		return mongoTemplate.findById(autor.getId(), Autor.class).getComicsIds();
+	}
+
+	// Arranca todos los escritores a la vez y propaga el primer error
+	private static void runInParallel(IntConsumer writer) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < WRITERS; i++) {
+				int id = i;
+				futures.add(executor.submit(() -> {
+					start.await();
+					writer.accept(id);
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package com.example.comics_api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.comics_api.dto.AnioBucketDTO;
+import com.example.comics_api.dto.ComicDTO;
+import com.example.comics_api.dto.ComicFacetPageDTO;
+import com.example.comics_api.dto.FacetCountDTO;
+import com.example.comics_api.mapper.DtoMapper;
+import com.example.comics_api.mapper.DtoMapperImpl;
+import com.example.comics_api.model.Comic;
+import com.example.comics_api.repository.AutorRepository;
+import com.example.comics_api.repository.AutorSummary;
+import com.example.comics_api.repository.ComicRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ComicServiceImplTests {
+
+	@Mock
+	private ComicRepository comicRepository;
+
+	@Mock
+	private AutorRepository autorRepository;
+
+	@Mock
+	private MongoTemplate mongoTemplate;
+
+	@InjectMocks
+	private ComicServiceImpl comicService;
+
+	private AutorCache autorCache;
+
+	@BeforeEach
+	void setUp() {
+		DtoMapper dtoMapper = new DtoMapperImpl();
+		autorCache = new AutorCache(autorRepository, dtoMapper, 100, Duration.ofMinutes(10));
+		ReflectionTestUtils.setField(comicService, "autorCache", autorCache);
+		ReflectionTestUtils.setField(comicService, "dtoMapper", dtoMapper);
+		ReflectionTestUtils.setField(comicService, "facetCache", new FacetCache(100, Duration.ofMinutes(5)));
+	}
+
+	@Test
+	void findAllComicsResolvesAuthorsInOneQuery() {
+		List<Comic> comics = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			comics.add(comic("c" + i, "a" + (i % 10)));
+		}
+		List<AutorSummary> autores = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			autores.add(autor("a" + i));
+		}
+		when(comicRepository.findAll()).thenReturn(comics);
+		when(autorRepository.findByIdIn(anyCollection())).thenReturn(autores);
+
+		List<ComicDTO> result = comicService.findAllComics();
+
+		assertThat(result).hasSize(1000);
+		assertThat(result).allSatisfy(dto -> assertThat(dto.autor()).isNotNull());
+		verify(comicRepository, times(1)).findAll();
+		verify(autorRepository, times(1)).findByIdIn(anyCollection());
+		verify(autorRepository, never()).findById(any());
+	}
+
+	@Test
+	void findAllComicsServesCachedAuthorsWithoutQuerying() {
+		List<Comic> comics = List.of(comic("c1", "a1"), comic("c2", "a2"));
+		when(comicRepository.findAll()).thenReturn(comics);
+		when(autorRepository.findByIdIn(anyCollection())).thenReturn(List.of(autor("a1"), autor("a2")));
+
+		comicService.findAllComics();
+		List<ComicDTO> result = comicService.findAllComics();
+
+		assertThat(result).allSatisfy(dto -> assertThat(dto.autor()).isNotNull());
+		verify(autorRepository, times(1)).findByIdIn(anyCollection());
+		assertThat(autorCache.stats().hits()).isEqualTo(2);
+		assertThat(autorCache.stats().misses()).isEqualTo(2);
+	}
+
+	@Test
+	void invalidatedAuthorIsReloaded() {
+		when(comicRepository.findAll()).thenReturn(List.of(comic("c1", "a1")));
+		when(autorRepository.findByIdIn(anyCollection())).thenReturn(List.of(autor("a1")));
+
+		comicService.findAllComics();
+		autorCache.invalidate("a1");
+		comicService.findAllComics();
+
+		verify(autorRepository, times(2)).findByIdIn(anyCollection());
+	}
+
+	@Test
+	void findAllComicsSkipsAuthorQueryWhenNoComicHasAuthor() {
+		when(comicRepository.findAll()).thenReturn(List.of(comic("c1", null)));
+
+		List<ComicDTO> result = comicService.findAllComics();
+
+		assertThat(result).singleElement().satisfies(dto -> assertThat(dto.autor()).isNull());
+		verify(autorRepository, never()).findByIdIn(anyCollection());
+	}
+
+	@Test
+	void facetCountsAreCachedPerFilterSetUntilAWrite() {
+		when(mongoTemplate.getCollectionName(Comic.class)).thenReturn("Comics");
+		when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+		when(mongoTemplate.aggregate(any(Aggregation.class), eq("Comics"), eq(Document.class)))
+				.thenAnswer(invocation -> new AggregationResults<>(List.of(facetResult()), new Document()));
+		when(mongoTemplate.find(any(Query.class), eq(Comic.class))).thenReturn(List.of());
+
+		ComicFacetPageDTO first = comicService.findComicsWithFacets(
+				new ComicFilter(null, null, List.of("Drama", "Misterio"), null, 1980, null, null), ComicView.FULL, null, 10);
+		// Mismo filtro con los géneros en otro orden: recuentos de la caché, solo la consulta de la página
+		ComicFacetPageDTO second = comicService.findComicsWithFacets(
+				new ComicFilter(null, null, List.of("Misterio", "Drama"), null, 1980, null, null), ComicView.FULL, null, 10);
+
+		assertThat(first.comics()).hasSize(1);
+		assertThat(first.facetas().total()).isEqualTo(1);
+		assertThat(first.facetas().anios()).containsExactly(new AnioBucketDTO(1980, 1989, 1));
+		assertThat(first.facetas().editoriales()).containsExactly(new FacetCountDTO("DC", 1));
+		assertThat(second.facetas()).isSameAs(first.facetas());
+		verify(mongoTemplate, times(1)).aggregate(any(Aggregation.class), eq("Comics"), eq(Document.class));
+		verify(mongoTemplate, times(1)).find(any(Query.class), eq(Comic.class));
+
+		when(mongoTemplate.findAndRemove(any(Query.class), eq(Comic.class))).thenReturn(comic("c1", null));
+		comicService.deleteComic("c1");
+		comicService.findComicsWithFacets(
+				new ComicFilter(null, null, List.of("Drama", "Misterio"), null, 1980, null, null), ComicView.FULL, null, 10);
+
+		verify(mongoTemplate, times(2)).aggregate(any(Aggregation.class), eq("Comics"), eq(Document.class));
+	}
+
+	private static Document facetResult() {
+		return new Document("comics", List.of(new Document("_id", "c1").append("titulo", "Watchmen")
+						.append("anioPublicacion", 1986).append("editorial", "DC")))
+				.append("total", List.of(new Document("total", 1)))
+				.append("generos", List.of(new Document("_id", "Drama").append("total", 1),
+						new Document("_id", "Misterio").append("total", 1)))
+				.append("anios", List.of(new Document("_id", 1980).append("total", 1)))
+				.append("editoriales", List.of(new Document("_id", "DC").append("total", 1)));
+	}
+
+	private static Comic comic(String id, String autorId) {
+		Comic comic = new Comic();
+		comic.setId(id);
+		comic.setTitulo("Titulo " + id);
+		comic.setAutorId(autorId);
+		return comic;
+	}
+
+	private static AutorSummary autor(String id) {
+		return new AutorSummary() {
+			public String getId() { return id; }
+			public String getNombre() { return "Nombre " + id; }
+			public String getApellido() { return null; }
+			public String getNacionalidad() { return null; }
+			public String getFechaNacimiento() { return null; }
+		};
+	}
+
+}